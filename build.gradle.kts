@@ -8,6 +8,7 @@ plugins {
     id("io.freefair.lombok") version "8.13"
     id("org.sonarqube") version "6.2.0.5505"
     id("io.sentry.jvm.gradle") version "5.12.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "hexlet.code"
@@ -41,12 +42,21 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.github.ben-manes.caffeine:jcache")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
     implementation("org.openapitools:jackson-databind-nullable:0.2.7")
     implementation("org.mapstruct:mapstruct:1.6.3")
     implementation("org.postgresql:postgresql:42.7.7")
+    implementation("org.springframework:spring-r2dbc")
+    implementation("io.r2dbc:r2dbc-pool")
     annotationProcessor("org.mapstruct:mapstruct-processor:1.6.3")
 
     runtimeOnly("com.h2database:h2")
+    runtimeOnly("io.r2dbc:r2dbc-h2")
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
 
     developmentOnly("org.springframework.boot:spring-boot-devtools")
 
@@ -60,16 +70,34 @@ dependencies {
 
 tasks {
     test {
-        useJUnitPlatform()
+        useJUnitPlatform {
+            excludeTags("load")
+        }
         finalizedBy(jacocoTestReport)
     }
 
+    register<Test>("loadTest") {
+        description = "Runs the load tests tagged 'load'."
+        group = "verification"
+        testClassesDirs = sourceSets.test.get().output.classesDirs
+        classpath = sourceSets.test.get().runtimeClasspath
+        useJUnitPlatform {
+            includeTags("load")
+        }
+        // Logs any virtual thread that blocks while pinned to its carrier.
+        jvmArgs("-Djdk.tracePinnedThreads=short")
+    }
+
     jacocoTestReport {
         dependsOn(test)
         reports { xml.required.set(true) }
     }
 }
 
+jmh {
+    resultFormat = "JSON"
+}
+
 sonar {
     properties {
         property("sonar.projectKey", "DSunShine371_java-project-99")
@@ -0,0 +1,103 @@
+package hexlet.code.benchmark;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import hexlet.code.config.CachingJwtDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares bearer token decoding with and without CachingJwtDecoder.
+ * `tokens` distinct tokens are decoded in random order, so tokens=1 is a client repeating one token and larger
+ * values show the cost of hashing and a map lookup when the cache is warm but busy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtDecodeBenchmark {
+
+    private static final int RSA_KEY_SIZE = 2048;
+
+    @Param({"1", "1000"})
+    private int tokens;
+
+    private String[] values;
+
+    private JwtDecoder uncached;
+
+    private JwtDecoder cached;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchAlgorithmException {
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(RSA_KEY_SIZE);
+        var keyPair = generator.generateKeyPair();
+        var publicKey = (RSAPublicKey) keyPair.getPublic();
+        var jwk = new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+        var encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+
+        values = new String[tokens];
+        var now = Instant.now();
+        for (int i = 0; i < tokens; i++) {
+            var claims = JwtClaimsSet.builder()
+                    .issuer("self")
+                    .issuedAt(now)
+                    .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                    .subject("user" + i + "@example.com")
+                    .build();
+            values[i] = encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        }
+
+        uncached = NimbusJwtDecoder.withPublicKey(publicKey).build();
+        cached = new CachingJwtDecoder(uncached, tokens, new SimpleMeterRegistry());
+        for (String value : values) {
+            cached.decode(value);
+        }
+    }
+
+    @Benchmark
+    public Jwt uncached() {
+        return uncached.decode(nextToken());
+    }
+
+    @Benchmark
+    public Jwt cached() {
+        return cached.decode(nextToken());
+    }
+
+    private String nextToken() {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
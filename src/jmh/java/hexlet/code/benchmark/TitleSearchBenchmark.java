@@ -0,0 +1,124 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.utils.SearchUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures the titleCont query against a table of `rows` tasks.
+ * Runs on an in-memory H2 database by default; point BENCH_JDBC_URL (plus BENCH_JDBC_USER and
+ * BENCH_JDBC_PASSWORD) at a PostgreSQL database to compare the trigram index with a sequential scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TitleSearchBenchmark {
+
+    private static final String[] WORDS = {
+        "feature", "bug", "refactor", "release", "docs", "migration", "login", "board", "export", "search"
+    };
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    @Param("1000000")
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean trigramIndex;
+
+    @Param({"migration", "task 4242"})
+    private String term;
+
+    private Connection connection;
+
+    private PreparedStatement search;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        var url = Objects.requireNonNullElse(System.getenv("BENCH_JDBC_URL"), "jdbc:h2:mem:title_search");
+        connection = DriverManager.getConnection(url,
+                Objects.requireNonNullElse(System.getenv("BENCH_JDBC_USER"), "sa"),
+                Objects.requireNonNullElse(System.getenv("BENCH_JDBC_PASSWORD"), ""));
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_tasks");
+            statement.execute("CREATE TABLE bench_tasks (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        }
+        seed();
+
+        if (postgres) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+                if (trigramIndex) {
+                    statement.execute("CREATE INDEX bench_tasks_name_trgm ON bench_tasks "
+                            + "USING gin (lower(name) gin_trgm_ops)");
+                }
+                statement.execute("ANALYZE bench_tasks");
+            }
+        }
+
+        search = connection.prepareStatement(
+                "SELECT id, name FROM bench_tasks WHERE lower(name) LIKE ? ESCAPE '!'");
+        search.setString(1, SearchUtils.containsPattern(term));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE bench_tasks");
+        }
+        search.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public int searchByTitle() throws SQLException {
+        int found = 0;
+        try (var resultSet = search.executeQuery()) {
+            while (resultSet.next()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        try (var insert = connection.prepareStatement("INSERT INTO bench_tasks (id, name) VALUES (?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "Task " + i + " " + WORDS[i % WORDS.length]);
+                insert.addBatch();
+                if (i % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+}
@@ -0,0 +1,112 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Remembers username/password pairs that passed the BCrypt check, so a Basic-auth client repeating its
+ * credentials is verified with one HMAC instead of a user query and a BCrypt run.
+ * Keys are HMAC-SHA256 of the pair under a random per-process key: the cache never holds a password or
+ * anything that can be brute-forced offline. Entries expire after a short TTL and are dropped as soon as
+ * the user's password, email or account changes. Only the user's id, email and admin flag are kept, and every
+ * hit gets its own User built from them, so requests never share an entity.
+ */
+@Component
+public class CredentialCache {
+
+    private static final String CACHE_NAME = "credentials";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int KEY_SIZE = 32;
+
+    private final boolean enabled;
+
+    private final SecretKeySpec key;
+
+    private final Cache<String, Entry> cache;
+
+    // Bumped by every invalidation, so a login that started before one cannot cache what it read.
+    private final AtomicLong generation = new AtomicLong();
+
+    public CredentialCache(CredentialCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        var secret = new byte[KEY_SIZE];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<UserDetails> get(String username, String password) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(hash(username, password))).map(Entry::toUser);
+    }
+
+    // Taken before the user is loaded and handed back to put.
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String username, String password, UserDetails user, long loadedAt) {
+        if (!enabled || !(user instanceof User loaded) || generation.get() != loadedAt) {
+            return;
+        }
+        var key = hash(username, password);
+        var entry = new Entry(loaded.getId(), loaded.getEmail(), Boolean.TRUE.equals(loaded.getIsAdmin()));
+        cache.put(key, entry);
+        // An invalidation that ran between the check and the put may have missed the entry.
+        if (generation.get() != loadedAt) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(entry -> userId.equals(entry.id()));
+    }
+
+    private String hash(String username, String password) {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(Long id, String email, boolean admin) {
+
+        User toUser() {
+            var user = new User();
+            user.setId(id);
+            user.setEmail(email);
+            user.setIsAdmin(admin);
+            return user;
+        }
+    }
+}
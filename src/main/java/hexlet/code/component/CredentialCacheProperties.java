@@ -0,0 +1,18 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "credential-cache")
+@Setter
+@Getter
+public class CredentialCacheProperties {
+    private boolean enabled = true;
+    private long maxEntries = 10_000;
+    private Duration ttl = Duration.ofMinutes(5);
+}
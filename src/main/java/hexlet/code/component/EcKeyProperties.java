@@ -0,0 +1,22 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+// P-256 key pair in PEM (X.509 public, PKCS#8 private). Leave both unset to verify RSA tokens only.
+@Component
+@ConfigurationProperties(prefix = "ec")
+@Setter
+@Getter
+public class EcKeyProperties {
+    private Resource publicKey;
+    private Resource privateKey;
+    private String keyId = "ec-1";
+
+    public boolean isConfigured() {
+        return publicKey != null && privateKey != null;
+    }
+}
@@ -0,0 +1,15 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "jwt-cache")
+@Setter
+@Getter
+public class JwtCacheProperties {
+    private boolean enabled = true;
+    private long maxTokens = 10_000;
+}
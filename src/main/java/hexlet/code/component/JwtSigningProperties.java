@@ -0,0 +1,16 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "jwt-signing")
+@Setter
+@Getter
+public class JwtSigningProperties {
+    // RS256 signs with the rsa.* key pair, ES256 with the ec.* one; tokens signed with either are accepted.
+    private SignatureAlgorithm algorithm = SignatureAlgorithm.RS256;
+}
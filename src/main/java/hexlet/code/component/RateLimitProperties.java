@@ -0,0 +1,39 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Setter
+@Getter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxBuckets = 100_000;
+    // Keep it at least as long as the longest rule period: an evicted bucket comes back full.
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum Key {
+        IP,
+        ACCOUNT
+    }
+
+    @Setter
+    @Getter
+    public static class Rule {
+        private String name;
+        // Any method when unset.
+        private String method;
+        private String pattern;
+        private Key key = Key.IP;
+        private long capacity;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,32 @@
+package hexlet.code.component;
+
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "reactive-api")
+@Validated
+@Setter
+@Getter
+public class ReactiveApiProperties {
+    private boolean enabled = false;
+    // An R2DBC URL for the same database the JPA DataSource uses, e.g. r2dbc:postgresql://host/db.
+    private String url;
+    private String username;
+    private String password;
+    private int initialPoolSize = 2;
+    private int maxPoolSize = 10;
+    // Tasks are streamed in batches of this size, each followed by one query for the batch's labels.
+    private int batchSize = 256;
+
+    // Checked at startup: without it an empty R2DBC_DATASOURCE_URL only fails deep inside the URL parser.
+    @AssertTrue(message = "reactive-api.url must be set when reactive-api.enabled is true")
+    public boolean isUrlSetWhenEnabled() {
+        return !enabled || StringUtils.hasText(url);
+    }
+}
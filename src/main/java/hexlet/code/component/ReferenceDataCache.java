@@ -0,0 +1,229 @@
+package hexlet.code.component;
+
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.TaskStatusChangedEvent;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+ * Copy-on-write lookup tables for task statuses (id <-> slug) and labels (id <-> name).
+ * Readers never lock; a load builds new immutable maps and swaps them in. A committed status or label write
+ * drops its table and the next read loads it again; a periodic refresh picks up writes made by other instances.
+ * A miss falls back to the database, so a table that is missing a row costs a query rather than a wrong answer.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final TaskStatusRepository taskStatusRepository;
+
+    private final LabelRepository labelRepository;
+
+    private final TransactionTemplate separateTransaction;
+
+    private final Lock reloadLock = new ReentrantLock();
+
+    private volatile Table statuses;
+
+    private volatile Table labels;
+
+    public ReferenceDataCache(
+            TaskStatusRepository taskStatusRepository,
+            LabelRepository labelRepository,
+            PlatformTransactionManager transactionManager) {
+        this.taskStatusRepository = taskStatusRepository;
+        this.labelRepository = labelRepository;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.separateTransaction.setReadOnly(true);
+    }
+
+    // Returns an unloaded reference, so setting a task's status costs no query when the slug is known.
+    public TaskStatus getStatusReference(String slug) {
+        Long id = statuses().idByKey().get(slug);
+        if (id != null) {
+            return taskStatusRepository.getReferenceById(id);
+        }
+        return taskStatusRepository.findBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("TaskStatus with slug " + slug + " not found"));
+    }
+
+    /*
+     * Runs a write that uses references from getStatusReference. A status deleted by another instance stays in the
+     * table until the next refresh, and the write then fails on the foreign key; that failure is reported as the
+     * missing status, as a lookup would have. The check runs in its own transaction because the failed statement
+     * may have aborted the caller's.
+     */
+    public <T> T writeWithStatuses(Collection<String> slugs, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            var missing = separateTransaction.execute(status -> slugs.stream()
+                    .filter(slug -> taskStatusRepository.findBySlug(slug).isEmpty())
+                    .findFirst());
+            if (missing == null || missing.isEmpty()) {
+                throw e;
+            }
+            dropStatuses();
+            throw new ResourceNotFoundException("TaskStatus with slug " + missing.get() + " not found");
+        }
+    }
+
+    // Never loads the table, so it is safe to call from entity listeners in the middle of a flush.
+    public Optional<String> findStatusSlug(Long id) {
+        var table = statuses;
+        return table == null ? Optional.empty() : Optional.ofNullable(table.keyById().get(id));
+    }
+
+    public boolean statusExists(String slug) {
+        return statuses().idByKey().containsKey(slug) || taskStatusRepository.findBySlug(slug).isPresent();
+    }
+
+    /*
+     * Labels are loaded with one query rather than referenced: they go into a HashSet, and hashing a proxy of an
+     * entity with its own equals and hashCode initializes it anyway.
+     */
+    public Set<Label> getLabels(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        var found = new HashSet<>(labelRepository.findAllById(ids));
+        if (found.size() < new HashSet<>(ids).size()) {
+            var foundIds = found.stream().map(Label::getId).collect(Collectors.toSet());
+            ids.stream()
+                    .filter(id -> !foundIds.contains(id))
+                    .findFirst()
+                    .ifPresent(id -> {
+                        throw new ResourceNotFoundException("Label with id " + id + " not found");
+                    });
+        }
+        return found;
+    }
+
+    public void checkLabelsExist(Collection<Long> ids) {
+        var known = labels().keyById();
+        var missing = ids.stream().filter(id -> !known.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        var found = labelRepository.findAllById(missing).stream()
+                .map(Label::getId)
+                .collect(Collectors.toSet());
+        for (Long id : missing) {
+            if (!found.contains(id)) {
+                throw new ResourceNotFoundException("Label with id " + id + " not found");
+            }
+        }
+    }
+
+    public boolean labelExists(String name) {
+        return labels().idByKey().containsKey(name) || labelRepository.findByName(name).isPresent();
+    }
+
+    // Drops the table rather than reloading it, so the write that changed it does not pay for the reload.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskStatusChanged(TaskStatusChangedEvent event) {
+        dropStatuses();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLabelChanged(LabelChangedEvent event) {
+        reloadLock.lock();
+        try {
+            labels = null;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reference-cache.refresh-interval}",
+            initialDelayString = "${reference-cache.refresh-interval}")
+    public void refresh() {
+        reloadLock.lock();
+        try {
+            statuses = loadStatuses();
+            labels = loadLabels();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void dropStatuses() {
+        reloadLock.lock();
+        try {
+            statuses = null;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Table statuses() {
+        var table = statuses;
+        if (table != null) {
+            return table;
+        }
+        reloadLock.lock();
+        try {
+            if (statuses == null) {
+                statuses = loadStatuses();
+            }
+            return statuses;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Table labels() {
+        var table = labels;
+        if (table != null) {
+            return table;
+        }
+        reloadLock.lock();
+        try {
+            if (labels == null) {
+                labels = loadLabels();
+            }
+            return labels;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Table loadStatuses() {
+        return Table.of(taskStatusRepository.findAll(), TaskStatus::getId, TaskStatus::getSlug);
+    }
+
+    private Table loadLabels() {
+        return Table.of(labelRepository.findAll(), Label::getId, Label::getName);
+    }
+
+    private record Table(Map<Long, String> keyById, Map<String, Long> idByKey) {
+
+        private static <T> Table of(List<T> rows, Function<T, Long> id, Function<T, String> key) {
+            return new Table(
+                    rows.stream().collect(Collectors.toUnmodifiableMap(id, key)),
+                    rows.stream().collect(Collectors.toUnmodifiableMap(key, id)));
+        }
+    }
+}
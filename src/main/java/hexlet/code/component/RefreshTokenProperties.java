@@ -0,0 +1,20 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "refresh-token")
+@Setter
+@Getter
+public class RefreshTokenProperties {
+    private Duration ttl = Duration.ofDays(30);
+    private String cookieName = "refresh_token";
+    private boolean secureCookie = true;
+    private long maxRevokedFamilies = 100_000;
+    private Duration purgeInterval = Duration.ofHours(1);
+}
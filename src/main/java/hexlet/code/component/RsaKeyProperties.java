@@ -15,4 +15,5 @@ import java.security.interfaces.RSAPublicKey;
 public class RsaKeyProperties {
     private RSAPublicKey publicKey;
     private RSAPrivateKey privateKey;
+    private String keyId = "rsa-1";
 }
@@ -0,0 +1,54 @@
+package hexlet.code.component;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@Order(0)
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String INDEX_NAME = "idx_tasks_name_trgm";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+
+        if (!POSTGRESQL.equals(database)) {
+            log.info("No trigram index support on {}, titleCont falls back to a LIKE scan", database);
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            // A failed concurrent build leaves an INVALID index behind, which IF NOT EXISTS would keep forever.
+            List<Boolean> valid = jdbcTemplate.queryForList(
+                    "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)", Boolean.class, INDEX_NAME);
+            if (valid.contains(Boolean.FALSE)) {
+                log.warn("Rebuilding invalid index {} left by an interrupted build", INDEX_NAME);
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME);
+            }
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX_NAME
+                    + " ON tasks USING gin (lower(name) gin_trgm_ops)");
+        } catch (DataAccessException e) {
+            log.warn("Could not create the trigram index for task titles, titleCont will scan tasks", e);
+        }
+    }
+}
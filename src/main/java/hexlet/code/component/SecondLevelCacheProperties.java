@@ -0,0 +1,32 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "cache.l2")
+@Setter
+@Getter
+public class SecondLevelCacheProperties {
+    private boolean enabled = false;
+    private Region defaults = new Region();
+    private Map<String, Region> regions = new HashMap<>();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, defaults);
+    }
+
+    @Setter
+    @Getter
+    public static class Region {
+        private long maxEntries = 10_000;
+        // Entries never expire when unset; writes through Hibernate keep them current either way.
+        private Duration ttl;
+    }
+}
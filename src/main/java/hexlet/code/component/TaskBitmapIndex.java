@@ -0,0 +1,272 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TaskStatusChangedEvent;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/*
+ * Keeps one bitmap of task ids per status, assignee and label, so status/assignee/label filters are answered
+ * without touching the tasks table. Built at startup and then kept up to date from committed task changes.
+ * Changes committed while the index is being built are queued and replayed on top of it; replaying is
+ * idempotent because every change carries the full status/assignee/label state of the task.
+ * Listeners run ahead of the other after-commit listeners so TaskFilterCache never reloads from a stale index.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class TaskBitmapIndex implements ApplicationRunner {
+
+    private final boolean enabled;
+
+    private final TaskRepository taskRepository;
+
+    private final TaskStatusRepository taskStatusRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Roaring64Bitmap> byStatus = new HashMap<>();
+
+    private final Map<Long, Roaring64Bitmap> byAssignee = new HashMap<>();
+
+    private final Map<Long, Roaring64Bitmap> byLabel = new HashMap<>();
+
+    private final Map<String, Long> statusIds = new HashMap<>();
+
+    private final List<Object> pending = new ArrayList<>();
+
+    private boolean ready;
+
+    public TaskBitmapIndex(
+            TaskIndexProperties properties,
+            TaskRepository taskRepository,
+            TaskStatusRepository taskStatusRepository,
+            PlatformTransactionManager transactionManager) {
+        this.enabled = properties.isEnabled();
+        this.taskRepository = taskRepository;
+        this.taskStatusRepository = taskStatusRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        var statuses = new HashMap<Long, Roaring64Bitmap>();
+        var assignees = new HashMap<Long, Roaring64Bitmap>();
+        var labels = new HashMap<Long, Roaring64Bitmap>();
+        var slugs = new HashMap<String, Long>();
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            taskStatusRepository.findAll()
+                    .forEach(taskStatus -> slugs.put(taskStatus.getSlug(), taskStatus.getId()));
+            try (Stream<Object[]> rows = taskRepository.streamIndexRows()) {
+                rows.forEach(row -> {
+                    long taskId = (Long) row[0];
+                    add(statuses, (Long) row[1], taskId);
+                    add(assignees, (Long) row[2], taskId);
+                });
+            }
+            try (Stream<Object[]> rows = taskRepository.streamLabelRows()) {
+                rows.forEach(row -> add(labels, (Long) row[1], (Long) row[0]));
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            replace(byStatus, statuses);
+            replace(byAssignee, assignees);
+            replace(byLabel, labels);
+            statusIds.clear();
+            statusIds.putAll(slugs);
+            pending.forEach(this::apply);
+            pending.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Task bitmap index built for {} statuses, {} assignees and {} labels",
+                statuses.size(), assignees.size(), labels.size());
+    }
+
+    /*
+     * Returns the ascending ids of tasks matching the status, assignee and label parts of the filter,
+     * or empty when the index is not in use or the filter has none of those parts.
+     */
+    public Optional<long[]> findIds(TaskFilterDTO filter) {
+        var key = TaskFilterKey.of(filter);
+        if (!enabled || key.assigneeIds().isEmpty() && key.statuses().isEmpty() && key.labelIds().isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+
+            Roaring64Bitmap result = null;
+            if (!key.assigneeIds().isEmpty()) {
+                result = intersect(result, union(byAssignee, key.assigneeIds()));
+            }
+            if (!key.statuses().isEmpty()) {
+                var ids = key.statuses().stream()
+                        .map(statusIds::get)
+                        .toList();
+                result = intersect(result, union(byStatus, ids));
+            }
+            if (key.matchAllLabels()) {
+                for (Long labelId : key.labelIds()) {
+                    result = intersect(result, union(byLabel, Set.of(labelId)));
+                }
+            } else if (!key.labelIds().isEmpty()) {
+                result = intersect(result, union(byLabel, key.labelIds()));
+            }
+            return Optional.of(result.toArray());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangedEvent event) {
+        update(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTaskStatusChanged(TaskStatusChangedEvent event) {
+        update(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onLabelChanged(LabelChangedEvent event) {
+        if (event.deleted()) {
+            update(event);
+        }
+    }
+
+    private void update(Object event) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(event);
+            } else {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof TaskChangedEvent taskEvent) {
+            applyTask(taskEvent);
+        } else if (event instanceof TaskStatusChangedEvent statusEvent) {
+            if (statusEvent.oldSlug() != null) {
+                statusIds.remove(statusEvent.oldSlug(), statusEvent.statusId());
+            }
+            if (statusEvent.newSlug() != null) {
+                statusIds.put(statusEvent.newSlug(), statusEvent.statusId());
+            } else {
+                byStatus.remove(statusEvent.statusId());
+            }
+        } else if (event instanceof LabelChangedEvent labelEvent) {
+            byLabel.remove(labelEvent.labelId());
+        }
+    }
+
+    private void applyTask(TaskChangedEvent event) {
+        long taskId = event.taskId();
+        removeEverywhere(byStatus, taskId);
+        removeEverywhere(byAssignee, taskId);
+
+        var task = event.task();
+        if (task == null) {
+            removeEverywhere(byLabel, taskId);
+            return;
+        }
+
+        // Bulk updates only know the status id when they change it; otherwise the slug identifies it.
+        add(byStatus, event.statusId() != null ? event.statusId() : statusIds.get(task.getStatus()), taskId);
+        add(byAssignee, task.getAssigneeId(), taskId);
+        // An unloaded label collection was not modified in that session, so the indexed labels still hold.
+        if (task.getTaskLabelIds() != null) {
+            removeEverywhere(byLabel, taskId);
+            task.getTaskLabelIds().forEach(labelId -> add(byLabel, labelId, taskId));
+        }
+    }
+
+    private static void add(Map<Long, Roaring64Bitmap> bitmaps, Long key, long taskId) {
+        if (key != null) {
+            bitmaps.computeIfAbsent(key, k -> new Roaring64Bitmap()).addLong(taskId);
+        }
+    }
+
+    private static void removeEverywhere(Map<Long, Roaring64Bitmap> bitmaps, long taskId) {
+        bitmaps.values().removeIf(bitmap -> {
+            bitmap.removeLong(taskId);
+            return bitmap.isEmpty();
+        });
+    }
+
+    private static void replace(Map<Long, Roaring64Bitmap> target, Map<Long, Roaring64Bitmap> source) {
+        target.clear();
+        target.putAll(source);
+    }
+
+    private static Roaring64Bitmap union(Map<Long, Roaring64Bitmap> bitmaps, Collection<Long> keys) {
+        var result = new Roaring64Bitmap();
+        for (Long key : keys) {
+            var bitmap = key == null ? null : bitmaps.get(key);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static Roaring64Bitmap intersect(Roaring64Bitmap current, Roaring64Bitmap next) {
+        if (current == null) {
+            return next;
+        }
+        current.and(next);
+        return current;
+    }
+}
@@ -0,0 +1,18 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "task-changes")
+@Setter
+@Getter
+public class TaskChangesProperties {
+    private Duration commitWindow = Duration.ofSeconds(5);
+    private Duration tombstoneRetention = Duration.ofDays(30);
+    private Duration purgeInterval = Duration.ofHours(1);
+}
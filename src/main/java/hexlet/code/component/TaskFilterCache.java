@@ -0,0 +1,136 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TaskStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * Caches findByFilters results per normalized filter.
+ * Writes drop only the entries that contain the changed task or that the task could now match. Every write
+ * bumps a generation counter, so a result loaded while a write was in flight is never kept. Task changes are
+ * applied when the entity is flushed and once more after commit, which catches reads of the pre-commit state.
+ */
+@Component
+public class TaskFilterCache {
+
+    private static final String CACHE_NAME = "tasks.filter";
+
+    private final boolean enabled;
+
+    private final Cache<TaskFilterKey, Entry> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter invalidations;
+
+    public TaskFilterCache(TaskFilterCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxTasks())
+                .weigher((TaskFilterKey key, Entry entry) -> entry.tasks().size() + 1)
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .description("Entries dropped because a write could change their result")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<TaskDTO> get(TaskFilterDTO filter, Supplier<List<TaskDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        var key = TaskFilterKey.of(filter);
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.tasks();
+        }
+
+        long loadedAt = generation.get();
+        List<TaskDTO> tasks = List.copyOf(loader.get());
+        if (generation.get() == loadedAt) {
+            cache.put(key, new Entry(tasks));
+            if (generation.get() != loadedAt) {
+                cache.invalidate(key);
+            }
+        }
+        return tasks;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidateTask(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterTaskChanged(TaskChangedEvent event) {
+        invalidateTask(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskStatusChanged(TaskStatusChangedEvent event) {
+        var slugs = Stream.of(event.oldSlug(), event.newSlug())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        invalidate((key, entry) -> key.statuses().stream().anyMatch(slugs::contains)
+                || entry.tasks().stream().anyMatch(task -> slugs.contains(task.getStatus())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLabelChanged(LabelChangedEvent event) {
+        // Labels in use cannot be deleted, and renaming one does not change any cached TaskDTO.
+        if (event.deleted()) {
+            invalidate((key, entry) -> key.labelIds().contains(event.labelId()));
+        }
+    }
+
+    private void invalidateTask(TaskChangedEvent event) {
+        invalidate((key, entry) -> entry.taskIds().contains(event.taskId())
+                || !event.isDeleted() && key.matches(event.task()));
+    }
+
+    private void invalidate(BiPredicate<TaskFilterKey, Entry> affected) {
+        generation.incrementAndGet();
+        if (!enabled) {
+            return;
+        }
+
+        Map<TaskFilterKey, Entry> entries = cache.asMap();
+        entries.forEach((key, entry) -> {
+            if (affected.test(key, entry) && entries.remove(key, entry)) {
+                invalidations.increment();
+            }
+        });
+    }
+
+    private record Entry(List<TaskDTO> tasks, Set<Long> taskIds) {
+
+        Entry(List<TaskDTO> tasks) {
+            this(tasks, tasks.stream().map(TaskDTO::getId).collect(Collectors.toUnmodifiableSet()));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "cache.task-filter")
+@Setter
+@Getter
+public class TaskFilterCacheProperties {
+    private boolean enabled = true;
+    private long maxTasks = 50_000;
+    private Duration ttl = Duration.ofMinutes(5);
+}
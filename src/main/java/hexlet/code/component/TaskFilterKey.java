@@ -0,0 +1,65 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilterDTO;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record TaskFilterKey(
+        String titleCont,
+        Set<Long> assigneeIds,
+        Set<String> statuses,
+        Set<Long> labelIds,
+        boolean matchAllLabels) {
+
+    public static TaskFilterKey of(TaskFilterDTO filter) {
+        String title = filter.getTitleCont() == null || filter.getTitleCont().isEmpty()
+                ? null
+                : filter.getTitleCont().toLowerCase(Locale.ROOT);
+        Set<Long> labelIds = copyOf(filter.getLabelId());
+
+        return new TaskFilterKey(
+                title,
+                copyOf(filter.getAssigneeId()),
+                copyOf(filter.getStatus()),
+                labelIds,
+                filter.isMatchAllLabels() && labelIds.size() > 1);
+    }
+
+    public boolean matchesAll() {
+        return titleCont == null && assigneeIds.isEmpty() && statuses.isEmpty() && labelIds.isEmpty();
+    }
+
+    /*
+     * Tells whether the task could belong to the result of this filter.
+     * A null status slug or label set means the value is unknown, which counts as a possible match.
+     */
+    public boolean matches(TaskDTO task) {
+        if (titleCont != null
+                && (task.getName() == null || !task.getName().toLowerCase(Locale.ROOT).contains(titleCont))) {
+            return false;
+        }
+        if (!assigneeIds.isEmpty()
+                && (task.getAssigneeId() == null || !assigneeIds.contains(task.getAssigneeId()))) {
+            return false;
+        }
+        if (!statuses.isEmpty() && task.getStatus() != null && !statuses.contains(task.getStatus())) {
+            return false;
+        }
+        if (labelIds.isEmpty() || task.getTaskLabelIds() == null) {
+            return true;
+        }
+        return matchAllLabels
+                ? task.getTaskLabelIds().containsAll(labelIds)
+                : labelIds.stream().anyMatch(task.getTaskLabelIds()::contains);
+    }
+
+    private static <T> Set<T> copyOf(Set<T> values) {
+        return values == null
+                ? Set.of()
+                : values.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+    }
+}
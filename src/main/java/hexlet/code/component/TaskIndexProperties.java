@@ -0,0 +1,14 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "task-index")
+@Setter
+@Getter
+public class TaskIndexProperties {
+    private boolean enabled = false;
+}
@@ -0,0 +1,42 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/*
+ * Task ids used to come from an identity column. On an existing PostgreSQL database the tasks_seq sequence
+ * created by the schema update starts at 1, so it is moved past the highest id before anything is inserted.
+ */
+@Slf4j
+@Component
+@Order(0)
+public class TaskSequenceInitializer implements ApplicationRunner {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!POSTGRESQL.equals(database)) {
+            return;
+        }
+
+        Long value = jdbcTemplate.queryForObject("SELECT setval('tasks_seq', GREATEST("
+                + "(SELECT COALESCE(MAX(id), 0) FROM tasks) + ?, (SELECT last_value FROM tasks_seq)))",
+                Long.class, Task.ID_ALLOCATION_SIZE);
+        log.info("tasks_seq aligned to {}", value);
+    }
+}
@@ -0,0 +1,21 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "task-stream")
+@Setter
+@Getter
+public class TaskStreamProperties {
+    private int maxSubscribers = 10_000;
+    private int bufferSize = 256;
+    private int maxMembers = 1000;
+    private int dispatchQueueSize = 10_000;
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration heartbeat = Duration.ofSeconds(30);
+}
@@ -0,0 +1,33 @@
+package hexlet.code.component;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/*
+ * Tasks written before updated_at existed have it unset and would never show up in /api/tasks/changes.
+ * They are stamped with their creation time once.
+ */
+@Slf4j
+@Component
+@Order(0)
+public class TaskUpdatedAtInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskUpdatedAtInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updated = jdbcTemplate.update(
+                "UPDATE tasks SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL");
+        if (updated > 0) {
+            log.info("Set updated_at on {} tasks", updated);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package hexlet.code.config;
+
+import hexlet.code.component.CredentialCache;
+import hexlet.code.exception.ServiceUnavailableException;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+// Answers repeated username/password logins from CredentialCache; everything else goes to the delegate.
+public final class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+
+    private final CredentialCache credentialCache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        if (!(authentication.getCredentials() instanceof String password) || username == null) {
+            return authenticateWithDelegate(authentication);
+        }
+
+        var cached = credentialCache.get(username, password);
+        if (cached.isPresent()) {
+            var user = cached.get();
+            var result = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        long generation = credentialCache.generation();
+        var result = authenticateWithDelegate(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails user) {
+            credentialCache.put(username, password, user, generation);
+        }
+        return result;
+    }
+
+    // DaoAuthenticationProvider wraps unexpected exceptions; an overloaded hashing pool must still become a 503.
+    private Authentication authenticateWithDelegate(Authentication authentication) {
+        try {
+            return delegate.authenticate(authentication);
+        } catch (InternalAuthenticationServiceException e) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof ServiceUnavailableException unavailable) {
+                    throw unavailable;
+                }
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
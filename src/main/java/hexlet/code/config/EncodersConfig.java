@@ -1,44 +1,138 @@
 package hexlet.code.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import hexlet.code.component.EcKeyProperties;
+import hexlet.code.component.JwtCacheProperties;
+import hexlet.code.component.JwtSigningProperties;
+import hexlet.code.component.PasswordHashingProperties;
 import hexlet.code.component.RsaKeyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.core.io.Resource;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * Tokens are signed with the key for jwt-signing.algorithm and carry its key id. Every configured key verifies,
+ * so switching between RS256 and ES256 keeps tokens issued before the switch valid until they expire.
+ */
 @Configuration
 public class EncodersConfig {
 
     private final RsaKeyProperties rsaKeys;
 
-    public EncodersConfig(RsaKeyProperties rsaKeys) {
+    private final EcKeyProperties ecKeys;
+
+    private final JwtSigningProperties signing;
+
+    public EncodersConfig(RsaKeyProperties rsaKeys, EcKeyProperties ecKeys, JwtSigningProperties signing) {
         this.rsaKeys = rsaKeys;
+        this.ecKeys = ecKeys;
+        this.signing = signing;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(properties, meterRegistry);
     }
 
     @Bean
     JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(rsaKeys.getPublicKey()).privateKey(rsaKeys.getPrivateKey()).build();
-        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwks);
+        var algorithm = JWSAlgorithm.parse(signing.getAlgorithm().getName());
+        JWK jwk = keys().stream()
+                .filter(key -> algorithm.equals(key.getAlgorithm()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No signing key configured for " + algorithm));
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+    JwtDecoder jwtDecoder(JwtCacheProperties jwtCacheProperties, MeterRegistry meterRegistry) {
+        var keys = keys();
+        Set<JWSAlgorithm> algorithms = keys.stream()
+                .map(key -> JWSAlgorithm.parse(key.getAlgorithm().getName()))
+                .collect(Collectors.toSet());
+        var processor = new DefaultJWTProcessor<SecurityContext>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                algorithms, new ImmutableJWKSet<>(new JWKSet(keys).toPublicJWKSet())));
+        // Claims are validated by NimbusJwtDecoder's own validators.
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        JwtDecoder decoder = new NimbusJwtDecoder(processor);
+        if (!jwtCacheProperties.isEnabled()) {
+            return decoder;
+        }
+        return new CachingJwtDecoder(decoder, jwtCacheProperties.getMaxTokens(), meterRegistry);
+    }
+
+    private List<JWK> keys() {
+        var keys = new ArrayList<JWK>();
+        keys.add(new RSAKey.Builder(rsaKeys.getPublicKey())
+                .privateKey(rsaKeys.getPrivateKey())
+                .keyID(rsaKeys.getKeyId())
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.RS256)
+                .build());
+        if (ecKeys.isConfigured()) {
+            keys.add(ecKey());
+        }
+        return keys;
+    }
+
+    private JWK ecKey() {
+        try {
+            var factory = KeyFactory.getInstance("EC");
+            var publicKey = (ECPublicKey) factory.generatePublic(
+                    new X509EncodedKeySpec(pem(ecKeys.getPublicKey())));
+            var privateKey = (ECPrivateKey) factory.generatePrivate(
+                    new PKCS8EncodedKeySpec(pem(ecKeys.getPrivateKey())));
+            var curve = Curve.forECParameterSpec(publicKey.getParams());
+            if (!Curve.P_256.equals(curve)) {
+                throw new IllegalStateException("ES256 needs a P-256 key, got " + curve);
+            }
+            return new ECKey.Builder(curve, publicKey)
+                    .privateKey(privateKey)
+                    .keyID(ecKeys.getKeyId())
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.ES256)
+                    .build();
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot read the EC key pair", e);
+        }
+    }
+
+    private static byte[] pem(Resource resource) throws IOException {
+        var body = resource.getContentAsString(StandardCharsets.US_ASCII)
+                .replaceAll("-----[A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
     }
 }
@@ -1,5 +1,9 @@
 package hexlet.code.config;
 
+import hexlet.code.component.JwtSigningProperties;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
@@ -11,20 +15,47 @@ import java.time.temporal.ChronoUnit;
 @Component
 public class JWTUtils {
 
+    public static final String UID_CLAIM = "uid";
+
+    public static final String ADMIN_CLAIM = "admin";
+
     private final JwtEncoder encoder;
 
-    public JWTUtils(JwtEncoder jwtEncoder) {
+    private final UserRepository userRepository;
+
+    private final JwtSigningProperties signing;
+
+    public JWTUtils(JwtEncoder jwtEncoder, UserRepository userRepository, JwtSigningProperties signing) {
         this.encoder = jwtEncoder;
+        this.userRepository = userRepository;
+        this.signing = signing;
     }
 
     public String generateToken(String username) {
+        return userRepository.findByEmail(username)
+                .map(this::generateToken)
+                .orElseGet(() -> encode(claims(username).build()));
+    }
+
+    // The claims let requests authorize without loading the user; an admin change applies from the next token.
+    public String generateToken(User user) {
+        return encode(claims(user.getEmail())
+                .claim(UID_CLAIM, user.getId())
+                .claim(ADMIN_CLAIM, Boolean.TRUE.equals(user.getIsAdmin()))
+                .build());
+    }
+
+    private static JwtClaimsSet.Builder claims(String username) {
         Instant now = Instant.now();
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+        return JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
                 .expiresAt(now.plus(1, ChronoUnit.HOURS))
-                .subject(username)
-                .build();
-        return this.encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+                .subject(username);
+    }
+
+    private String encode(JwtClaimsSet claims) {
+        var header = JwsHeader.with(signing.getAlgorithm()).build();
+        return this.encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
     }
 }
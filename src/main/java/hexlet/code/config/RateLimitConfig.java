@@ -0,0 +1,29 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+@Configuration
+@ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    // Ordered ahead of Spring Security's filter chain, so rejected requests never reach authentication.
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            RateLimitProperties properties,
+            JwtDecoder jwtDecoder,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        var registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(properties, jwtDecoder, objectMapper, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,266 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.component.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-IP and per-account token buckets for the routes listed in rate-limit.rules, applied before the security
+ * chain so a flood of logins is turned away before it reaches BCrypt. A request must pass every matching rule.
+ * The account is the JWT's user id, the Basic-auth username or, for the login form, the submitted username;
+ * rules keyed by account are skipped when there is none and the per-IP rules still apply.
+ * Buckets live in a bounded Caffeine map and are evicted once idle, so many distinct keys cannot exhaust memory.
+ */
+public final class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_PREFIX = "rate.limit";
+
+    private static final String BEARER = "Bearer ";
+
+    private static final String BASIC = "Basic ";
+
+    private static final String USERNAME_FIELD = "username";
+
+    private static final int MAX_BODY_BYTES = 4096;
+
+    private final List<Route> routes;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final JwtDecoder jwtDecoder;
+
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(
+            RateLimitProperties properties,
+            JwtDecoder jwtDecoder,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.jwtDecoder = jwtDecoder;
+        this.objectMapper = objectMapper;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.routes = properties.getRules().stream()
+                .map(rule -> new Route(
+                        rule,
+                        PathPatternParser.defaultInstance.parse(rule.getPattern()),
+                        Counter.builder(METRIC_PREFIX + ".rejected")
+                                .description("Requests rejected by the rate limiter")
+                                .tag("rule", rule.getName())
+                                .register(meterRegistry)))
+                .toList();
+
+        Gauge.builder(METRIC_PREFIX + ".buckets", buckets, Cache::estimatedSize)
+                .description("Token buckets currently held")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        var matching = routes.stream().filter(route -> route.matches(request.getMethod(), path)).toList();
+        if (matching.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        var current = request;
+        String account = null;
+        boolean accountResolved = false;
+        long now = System.nanoTime();
+        List<TokenBucket> taken = new ArrayList<>(matching.size());
+        for (var route : matching) {
+            var rule = route.rule();
+            String key;
+            if (rule.getKey() == RateLimitProperties.Key.IP) {
+                key = request.getRemoteAddr();
+            } else {
+                if (!accountResolved) {
+                    account = accountFromHeader(request);
+                    if (account == null && isSmallJson(request)) {
+                        var buffered = new BufferedBodyRequest(request);
+                        account = accountFromBody(buffered.body);
+                        current = buffered;
+                    }
+                    accountResolved = true;
+                }
+                key = account;
+            }
+            if (key == null) {
+                continue;
+            }
+
+            var bucket = buckets.get(rule.getName() + '\0' + key,
+                    ignored -> new TokenBucket(rule.getCapacity(), rule.getPeriod(), now));
+            long waitNanos = bucket.tryConsume(now);
+            if (waitNanos > 0) {
+                // A rejected request must not cost the buckets of the rules it already passed.
+                taken.forEach(TokenBucket::refund);
+                route.rejected().increment();
+                reject(response, waitNanos);
+                return;
+            }
+            taken.add(bucket);
+        }
+        chain.doFilter(current, response);
+    }
+
+    private String accountFromHeader(HttpServletRequest request) {
+        var authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null) {
+            return null;
+        }
+        if (authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            try {
+                var jwt = jwtDecoder.decode(authorization.substring(BEARER.length()).trim());
+                Object uid = jwt.getClaims().get(JWTUtils.UID_CLAIM);
+                return uid != null ? "uid:" + uid : normalize(jwt.getSubject());
+            } catch (JwtException e) {
+                // The security chain rejects it; only the per-IP limits apply.
+                return null;
+            }
+        }
+        if (authorization.regionMatches(true, 0, BASIC, 0, BASIC.length())) {
+            try {
+                var decoded = new String(Base64.getDecoder().decode(authorization.substring(BASIC.length()).trim()),
+                        StandardCharsets.UTF_8);
+                int colon = decoded.indexOf(':');
+                return colon < 0 ? null : normalize(decoded.substring(0, colon));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private String accountFromBody(byte[] body) {
+        try {
+            var username = objectMapper.readTree(body).path(USERNAME_FIELD);
+            return username.isTextual() ? normalize(username.asText()) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean isSmallJson(HttpServletRequest request) {
+        long length = request.getContentLengthLong();
+        var contentType = request.getContentType();
+        if (length <= 0 || length > MAX_BODY_BYTES || contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    // Case-folded so that "Admin@Example.com" and "admin@example.com" share a bucket.
+    private static String normalize(String username) {
+        return username == null || username.isBlank() ? null : "user:" + username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setStatus(HttpServletResponse.SC_TOO_MANY_REQUESTS);
+        response.getWriter().write("Too many requests");
+    }
+
+    private record Route(RateLimitProperties.Rule rule, PathPattern pattern, Counter rejected) {
+
+        boolean matches(String method, PathContainer path) {
+            return (rule.getMethod() == null || rule.getMethod().equalsIgnoreCase(method)) && pattern.matches(path);
+        }
+    }
+
+    // Keeps the body it had to read for the username so the controller can read it again.
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readNBytes(MAX_BODY_BYTES);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available at once and then fully read.
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            var encoding = getCharacterEncoding();
+            var charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
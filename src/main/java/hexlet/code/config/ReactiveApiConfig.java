@@ -0,0 +1,55 @@
+package hexlet.code.config;
+
+import hexlet.code.component.ReactiveApiProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/*
+ * Opt-in R2DBC access (reactive-api.enabled) for the read-only /api/v2 endpoints, next to the JPA DataSource.
+ * The pool is deliberately not a ConnectionFactory bean: Spring Boot backs its DataSource off when one exists,
+ * which would take JPA down with it. R2dbcAutoConfiguration is excluded in application.yml for the same reason.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reactive-api", name = "enabled", havingValue = "true")
+public class ReactiveApiConfig implements DisposableBean {
+
+    private final ConnectionPool pool;
+
+    public ReactiveApiConfig(ReactiveApiProperties properties, MeterRegistry meterRegistry) {
+        var options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (StringUtils.hasText(properties.getUsername())) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("reactive-api")
+                .initialSize(properties.getInitialPoolSize())
+                .maxSize(properties.getMaxPoolSize())
+                .build());
+        new ConnectionPoolMetrics(pool, "reactive-api", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
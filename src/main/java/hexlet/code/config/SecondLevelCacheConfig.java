@@ -0,0 +1,126 @@
+package hexlet.code.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import hexlet.code.component.SecondLevelCacheProperties;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepositoryCustomImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.ToDoubleFunction;
+
+/*
+ * Opt-in Hibernate second-level cache (cache.l2.enabled) on a local Caffeine JCache manager.
+ * Every region is created here from cache.l2.regions, falling back to cache.l2.defaults, and Hibernate is told
+ * to fail on any other region, so a newly cached entity cannot silently end up unbounded.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cache.l2", name = "enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    // Hibernate checks cached query results against this region, so it must outlive every query result.
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final List<String> REGIONS = List.of(
+            Task.CACHE_REGION,
+            Task.LABELS_CACHE_REGION,
+            User.CACHE_REGION,
+            Label.CACHE_REGION,
+            TaskStatus.CACHE_REGION,
+            TaskRepositoryCustomImpl.FILTER_QUERY_CACHE_REGION,
+            "default-query-results-region");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        var cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            var settings = properties.region(region);
+            var ttl = settings.getTtl();
+            createCache(cacheManager, region, OptionalLong.of(settings.getMaxEntries()),
+                    ttl == null || ttl.isZero() ? OptionalLong.empty() : OptionalLong.of(ttl.toNanos()));
+        }
+        createCache(cacheManager, UPDATE_TIMESTAMPS_REGION, OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONS) {
+                register(registry, statistics, region, "hit", CacheRegionStatistics::getHitCount);
+                register(registry, statistics, region, "miss", CacheRegionStatistics::getMissCount);
+                Gauge.builder("hibernate.l2.hit.ratio", statistics, s -> hitRatio(s.getCacheRegionStatistics(region)))
+                        .description("Share of second-level cache lookups served from the region")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static void register(
+            MeterRegistry registry,
+            Statistics statistics,
+            String region,
+            String result,
+            ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.l2.requests", statistics, s -> {
+            var regionStatistics = s.getCacheRegionStatistics(region);
+            return regionStatistics == null ? 0 : count.applyAsDouble(regionStatistics);
+        })
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return 0;
+        }
+        long lookups = statistics.getHitCount() + statistics.getMissCount();
+        return lookups == 0 ? 0 : (double) statistics.getHitCount() / lookups;
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, OptionalLong maxEntries, OptionalLong ttl) {
+        if (cacheManager.getCache(name) != null) {
+            cacheManager.destroyCache(name);
+        }
+        var configuration = new CaffeineConfiguration<Object, Object>();
+        configuration.setMaximumSize(maxEntries);
+        configuration.setExpireAfterWrite(ttl);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -1,5 +1,6 @@
 package hexlet.code.config;
 
+import hexlet.code.component.CredentialCache;
 import hexlet.code.service.SecurityUserDetailsService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +18,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
 @Configuration
@@ -30,13 +32,17 @@ public class SecurityConfig {
 
     private final SecurityUserDetailsService userService;
 
+    private final CredentialCache credentialCache;
+
     public SecurityConfig(
             JwtDecoder jwtDecoder,
             PasswordEncoder passwordEncoder,
-            SecurityUserDetailsService securityUserDetailsService) {
+            SecurityUserDetailsService securityUserDetailsService,
+            CredentialCache credentialCache) {
         this.jwtDecoder = jwtDecoder;
         this.passwordEncoder = passwordEncoder;
         this.userService = securityUserDetailsService;
+        this.credentialCache = credentialCache;
     }
 
     @SuppressWarnings("java:S4502")
@@ -47,6 +53,7 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable) // java:S4502 - JWT tokens are used for authentication
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/token/refresh", "/api/token/revoke").permitAll()
                         .requestMatchers(HttpMethod.GET, "/").permitAll()
                         .requestMatchers(HttpMethod.GET, "/index.html").permitAll()
                         .requestMatchers(HttpMethod.GET, "/assets/**").permitAll()
@@ -55,6 +62,7 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .oauth2ResourceServer((rs) -> rs.jwt((jwt) -> jwt.decoder(jwtDecoder)))
                 .httpBasic(Customizer.withDefaults())
+                .addFilterBefore(new ServiceUnavailableFilter(), BasicAuthenticationFilter.class)
                 .build();
     }
 
@@ -69,6 +77,7 @@ public class SecurityConfig {
         var provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userService);
         provider.setPasswordEncoder(passwordEncoder);
-        return provider;
+        provider.setUserDetailsPasswordService(userService);
+        return new CachingAuthenticationProvider(provider, credentialCache);
     }
 }
@@ -0,0 +1,47 @@
+package hexlet.code.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Lock-free token bucket with lazy refill. The whole state is one timestamp: the moment the bucket will be full
+ * again. Taking a token pushes it one refill interval later; the bucket is empty once it is a whole capacity
+ * ahead of now. Nothing runs between requests, so an idle bucket costs only its memory.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+
+    private final long burstNanos;
+
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, Duration period, long nowNanos) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Bucket capacity must be positive");
+        }
+        this.nanosPerToken = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    // Returns 0 when a token was taken, otherwise how many nanoseconds until the next one is available.
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + nanosPerToken;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Gives back a token taken by tryConsume; a bucket that has refilled in the meantime simply stays full.
+    public void refund() {
+        fullAt.addAndGet(-nanosPerToken);
+    }
+}
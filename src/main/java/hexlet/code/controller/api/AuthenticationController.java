@@ -1,43 +1,116 @@
 package hexlet.code.controller.api;
 
+import hexlet.code.component.RefreshTokenProperties;
 import hexlet.code.config.JWTUtils;
 import hexlet.code.dto.AuthRequest;
+import hexlet.code.model.User;
+import hexlet.code.service.RefreshTokenService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api")
 public class AuthenticationController {
 
+    private static final String REFRESH_COOKIE_PATH = "/api/token";
+
     private final JWTUtils jwtUtils;
 
     private final AuthenticationManager authenticationManager;
 
+    private final RefreshTokenService refreshTokenService;
+
+    private final RefreshTokenProperties refreshTokenProperties;
+
     public AuthenticationController(
             JWTUtils jwtUtils,
-            AuthenticationManager authenticationManager) {
+            AuthenticationManager authenticationManager,
+            RefreshTokenService refreshTokenService,
+            RefreshTokenProperties refreshTokenProperties) {
         this.jwtUtils = jwtUtils;
         this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+        this.refreshTokenProperties = refreshTokenProperties;
     }
 
+    // The body is still the bare access token; the refresh token travels in an HttpOnly cookie.
     @PostMapping("/login")
-    public String create(@RequestBody AuthRequest authRequest) {
+    public ResponseEntity<String> create(@RequestBody AuthRequest authRequest) {
         try {
             var authentication = new UsernamePasswordAuthenticationToken(
                     authRequest.getUsername(), authRequest.getPassword());
 
-            authenticationManager.authenticate(authentication);
+            var authenticated = authenticationManager.authenticate(authentication);
 
-            return jwtUtils.generateToken(authRequest.getUsername());
+            if (authenticated.getPrincipal() instanceof User user) {
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, refreshCookie(refreshTokenService.issue(user)))
+                        .body(jwtUtils.generateToken(user));
+            }
+            return ResponseEntity.ok(jwtUtils.generateToken(authRequest.getUsername()));
         } catch (BadCredentialsException e) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password");
         }
     }
+
+    @PostMapping("/token/refresh")
+    public ResponseEntity<String> refresh(
+            @CookieValue(name = "${refresh-token.cookie-name}", required = false) String refreshToken) {
+        if (refreshToken == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token is missing");
+        }
+        try {
+            var tokens = refreshTokenService.refresh(refreshToken);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, refreshCookie(tokens.getRefreshToken()))
+                    .body(tokens.getAccessToken());
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.SET_COOKIE, expiredCookie())
+                    .body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/token/revoke")
+    public ResponseEntity<Void> revoke(
+            @CookieValue(name = "${refresh-token.cookie-name}", required = false) String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, expiredCookie())
+                .build();
+    }
+
+    private String refreshCookie(String value) {
+        return cookie(value, refreshTokenProperties.getTtl());
+    }
+
+    private String expiredCookie() {
+        return cookie("", Duration.ZERO);
+    }
+
+    private String cookie(String value, Duration maxAge) {
+        return ResponseCookie.from(refreshTokenProperties.getCookieName(), value)
+                .httpOnly(true)
+                .secure(refreshTokenProperties.isSecureCookie())
+                .sameSite("Strict")
+                .path(REFRESH_COOKIE_PATH)
+                .maxAge(maxAge)
+                .build()
+                .toString();
+    }
 }
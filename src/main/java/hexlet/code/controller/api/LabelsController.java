@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -30,17 +31,29 @@ public class LabelsController {
     }
 
     @GetMapping
-    public ResponseEntity<List<LabelDTO>> index() {
+    public ResponseEntity<List<LabelDTO>> index(WebRequest request) {
+        String eTag = labelService.getListETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<LabelDTO> labels = labelService.findAll();
         return ResponseEntity.ok()
+                .eTag(eTag)
                 .header("X-Total-Count", String.valueOf(labels.size()))
                 .body(labels);
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public LabelDTO show(@PathVariable Long id) {
-        return labelService.findById(id);
+    public ResponseEntity<LabelDTO> show(@PathVariable Long id, WebRequest request) {
+        String eTag = labelService.getETag(id);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(labelService.findById(id));
     }
 
     @PostMapping
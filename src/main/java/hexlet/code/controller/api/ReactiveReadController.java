@@ -0,0 +1,135 @@
+package hexlet.code.controller.api;
+
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.repository.ReactiveReadRepository;
+import hexlet.code.service.TaskQueryService;
+import hexlet.code.utils.CursorUtils;
+import hexlet.code.utils.TaskQueryUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/*
+ * Read-only v2 API over R2DBC (reactive-api.enabled); writes stay on the v1 controllers.
+ * Tasks and users are a keyset-paged JSON array by default, like v1: limit (capped) and after, with the cursor
+ * of the next page in X-Next-Cursor. With Accept: application/x-ndjson they are streamed one object per line
+ * from after to the end, and the next row is only requested once the previous one has been written.
+ */
+@RestController
+@RequestMapping("/api/v2")
+@ConditionalOnProperty(prefix = "reactive-api", name = "enabled", havingValue = "true")
+public class ReactiveReadController {
+
+    private final ReactiveReadRepository repository;
+
+    public ReactiveReadController(ReactiveReadRepository repository) {
+        this.repository = repository;
+    }
+
+    @GetMapping("/tasks")
+    public Mono<ResponseEntity<List<TaskDTO>>> tasks(
+            @RequestParam(required = false) String titleCont,
+            @RequestParam(required = false) Set<Long> assigneeId,
+            @RequestParam(required = false) Set<String> status,
+            @RequestParam(required = false) Set<Long> labelId,
+            @RequestParam(defaultValue = TaskQueryUtils.LABEL_MATCH_ANY) String labelMatch,
+            @RequestParam(defaultValue = "" + TaskQueryUtils.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String after) {
+        var filter = TaskQueryUtils.toFilter(titleCont, assigneeId, status, labelId, labelMatch);
+        int pageSize = pageSize(limit);
+        return page(repository.findTasks(filter, TaskQueryUtils.decodeCursor(after), pageSize + 1),
+                pageSize, TaskDTO::getId);
+    }
+
+    @GetMapping(path = "/tasks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDTO> streamTasks(
+            @RequestParam(required = false) String titleCont,
+            @RequestParam(required = false) Set<Long> assigneeId,
+            @RequestParam(required = false) Set<String> status,
+            @RequestParam(required = false) Set<Long> labelId,
+            @RequestParam(defaultValue = TaskQueryUtils.LABEL_MATCH_ANY) String labelMatch,
+            @RequestParam(required = false) String after) {
+        var filter = TaskQueryUtils.toFilter(titleCont, assigneeId, status, labelId, labelMatch);
+        return repository.findTasks(filter, TaskQueryUtils.decodeCursor(after), null);
+    }
+
+    @GetMapping("/tasks/{id}")
+    public Mono<TaskDTO> task(@PathVariable Long id) {
+        return repository.findTask(id).switchIfEmpty(notFound("Task", id));
+    }
+
+    @GetMapping(path = "/labels", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<LabelDTO> labels() {
+        return repository.findLabels();
+    }
+
+    @GetMapping("/labels/{id}")
+    public Mono<LabelDTO> label(@PathVariable Long id) {
+        return repository.findLabel(id).switchIfEmpty(notFound("Label", id));
+    }
+
+    @GetMapping(path = "/task_statuses",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TaskStatusDTO> taskStatuses() {
+        return repository.findTaskStatuses();
+    }
+
+    @GetMapping("/task_statuses/{id}")
+    public Mono<TaskStatusDTO> taskStatus(@PathVariable Long id) {
+        return repository.findTaskStatus(id).switchIfEmpty(notFound("TaskStatus", id));
+    }
+
+    @GetMapping("/users")
+    public Mono<ResponseEntity<List<UserDTO>>> users(
+            @RequestParam(defaultValue = "" + TaskQueryUtils.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String after) {
+        int pageSize = pageSize(limit);
+        return page(repository.findUsers(TaskQueryUtils.decodeCursor(after), pageSize + 1), pageSize, UserDTO::getId);
+    }
+
+    @GetMapping(path = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserDTO> streamUsers(@RequestParam(required = false) String after) {
+        return repository.findUsers(TaskQueryUtils.decodeCursor(after), null);
+    }
+
+    @GetMapping("/users/{id}")
+    public Mono<UserDTO> user(@PathVariable Long id) {
+        return repository.findUser(id).switchIfEmpty(notFound("User", id));
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, TaskQueryService.MAX_PAGE_SIZE));
+    }
+
+    // Reads one row past the page to learn whether there is a next one.
+    private static <T> Mono<ResponseEntity<List<T>>> page(Flux<T> rows, int pageSize, Function<T, Long> id) {
+        return rows.collectList().map(list -> {
+            if (list.size() <= pageSize) {
+                return ResponseEntity.ok(list);
+            }
+            var page = list.subList(0, pageSize);
+            return ResponseEntity.ok()
+                    .header("X-Next-Cursor", CursorUtils.encode(id.apply(page.get(pageSize - 1))))
+                    .body(page);
+        });
+    }
+
+    private static <T> Mono<T> notFound(String resource, Long id) {
+        return Mono.error(() -> new ResourceNotFoundException(resource + " with id " + id + " not found"));
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -36,15 +37,29 @@ public class TaskStatusesController {
     }
 
     @GetMapping
-    ResponseEntity<List<TaskStatusDTO>> index() {
+    ResponseEntity<List<TaskStatusDTO>> index(WebRequest request) {
+        var eTag = taskStatusService.getListETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
         var taskStatuses = taskStatusService.findAll();
-        return ResponseEntity.ok().header("X-Total-Count", String.valueOf(taskStatuses.size())).body(taskStatuses);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header("X-Total-Count", String.valueOf(taskStatuses.size()))
+                .body(taskStatuses);
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    TaskStatusDTO show(@PathVariable Long id) {
-        return taskStatusService.findById(id);
+    ResponseEntity<TaskStatusDTO> show(@PathVariable Long id, WebRequest request) {
+        var eTag = taskStatusService.getETag(id);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(taskStatusService.findById(id));
     }
 
     @PutMapping("/{id}")
@@ -1,25 +1,54 @@
 package hexlet.code.controller.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.ChangePositionDTO;
+import hexlet.code.dto.TaskBulkUpdateDTO;
+import hexlet.code.dto.TaskBulkUpdateResultDTO;
+import hexlet.code.dto.TaskChangesDTO;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.dto.TaskPageParamsDTO;
 import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.service.TaskBulkService;
+import hexlet.code.service.TaskChangesService;
+import hexlet.code.service.TaskQueryService;
 import hexlet.code.service.TaskService;
+import hexlet.code.service.TaskStreamService;
+import hexlet.code.utils.ChangeTokenUtils;
+import hexlet.code.utils.CursorUtils;
+import hexlet.code.utils.ETagUtils;
+import hexlet.code.utils.TaskQueryUtils;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -27,33 +56,109 @@ public class TasksController {
 
     private final TaskService taskService;
 
-    public TasksController(TaskService taskService) {
+    private final TaskQueryService taskQueryService;
+
+    private final TaskBulkService taskBulkService;
+
+    private final TaskChangesService taskChangesService;
+
+    private final TaskStreamService taskStreamService;
+
+    private final ObjectMapper objectMapper;
+
+    public TasksController(
+            TaskService taskService,
+            TaskQueryService taskQueryService,
+            TaskBulkService taskBulkService,
+            TaskChangesService taskChangesService,
+            TaskStreamService taskStreamService,
+            ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.taskQueryService = taskQueryService;
+        this.taskBulkService = taskBulkService;
+        this.taskChangesService = taskChangesService;
+        this.taskStreamService = taskStreamService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
     public ResponseEntity<List<TaskDTO>> index(
             @RequestParam(required = false) String titleCont,
-            @RequestParam(required = false) Long assigneeId,
-            @RequestParam(required = false) String status,
-            @RequestParam(required = false) Long labelId) {
+            @RequestParam(required = false) Set<Long> assigneeId,
+            @RequestParam(required = false) Set<String> status,
+            @RequestParam(required = false) Set<Long> labelId,
+            @RequestParam(defaultValue = TaskQueryUtils.LABEL_MATCH_ANY) String labelMatch,
+            TaskPageParamsDTO pageParams,
+            WebRequest request) {
 
-        TaskFilterDTO filter = new TaskFilterDTO();
-        filter.setTitleCont(titleCont);
-        filter.setAssigneeId(assigneeId);
-        filter.setStatus(status);
-        filter.setLabelId(labelId);
+        var filter = TaskQueryUtils.toFilter(titleCont, assigneeId, status, labelId, labelMatch);
+        boolean paged = pageParams.getLimit() != null || pageParams.getAfter() != null;
+        Long afterId = paged ? TaskQueryUtils.decodeCursor(pageParams.getAfter()) : null;
 
-        var tasks = taskService.findByFilters(filter);
+        if (paged) {
+            return page(filter, pageParams, afterId, request);
+        }
+
+        var tasks = taskQueryService.findByFilters(filter);
+        String eTag = ETagUtils.ofTasks(tasks, null, null);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         return ResponseEntity.ok()
+                .eTag(eTag)
                 .header("X-Total-Count", String.valueOf(tasks.size()))
                 .body(tasks);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String titleCont,
+            @RequestParam(required = false) Set<Long> assigneeId,
+            @RequestParam(required = false) Set<String> status,
+            @RequestParam(required = false) Set<Long> labelId,
+            @RequestParam(defaultValue = TaskQueryUtils.LABEL_MATCH_ANY) String labelMatch) {
+
+        var filter = TaskQueryUtils.toFilter(titleCont, assigneeId, status, labelId, labelMatch);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                taskQueryService.streamByFilters(filter, task -> writeTask(generator, task));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String titleCont,
+            @RequestParam(required = false) Set<Long> assigneeId,
+            @RequestParam(required = false) Set<String> status,
+            @RequestParam(required = false) Set<Long> labelId,
+            @RequestParam(defaultValue = TaskQueryUtils.LABEL_MATCH_ANY) String labelMatch) {
+        return taskStreamService.subscribe(TaskQueryUtils.toFilter(titleCont, assigneeId, status, labelId, labelMatch));
+    }
+
+    @GetMapping("/changes")
+    public TaskChangesDTO changes(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + TaskQueryService.MAX_PAGE_SIZE) int limit) {
+        return taskChangesService.findChanges(decodeChangeToken(since), limit);
+    }
+
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public TaskDTO show(@PathVariable Long id) {
-        return taskService.findById(id);
+    public ResponseEntity<TaskDTO> show(@PathVariable Long id, WebRequest request) {
+        String eTag = taskService.getETag(id);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(taskService.findById(id));
     }
 
     @PostMapping
@@ -62,10 +167,39 @@ public class TasksController {
         return taskService.create(taskData);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<TaskDTO> createBatch(
+            @RequestBody @Size(min = 1, max = TaskService.MAX_BATCH_SIZE) List<@Valid TaskCreateDTO> tasksData) {
+        return taskService.createAll(tasksData);
+    }
+
     @PutMapping("/{id}")
+    public ResponseEntity<TaskDTO> update(
+            @Valid @RequestBody TaskUpdateDTO taskData,
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var task = taskService.update(taskData, id, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(ETagUtils.of(task.getId(), task.getVersion()))
+                .body(task);
+    }
+
+    @PatchMapping("/bulk")
     @ResponseStatus(HttpStatus.OK)
-    public TaskDTO update(@Valid @RequestBody TaskUpdateDTO taskData, @PathVariable Long id) {
-        return taskService.update(taskData, id);
+    public TaskBulkUpdateResultDTO bulkUpdate(@Valid @RequestBody TaskBulkUpdateDTO bulkData) {
+        if ((bulkData.getIds() == null) == (bulkData.getFilter() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exactly one of ids or filter must be given");
+        }
+        boolean changesLabels = isPresent(bulkData.getAddLabelIds()) || isPresent(bulkData.getRemoveLabelIds());
+        if (bulkData.getStatus() == null && bulkData.getAssigneeId() == null && !changesLabels) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No changes given");
+        }
+        if (isPresent(bulkData.getAddLabelIds()) && isPresent(bulkData.getRemoveLabelIds())
+                && !Collections.disjoint(bulkData.getAddLabelIds(), bulkData.getRemoveLabelIds())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A label cannot be both added and removed");
+        }
+        return taskBulkService.update(bulkData);
     }
 
     @DeleteMapping("/{id}")
@@ -73,4 +207,48 @@ public class TasksController {
     public void delete(@PathVariable Long id) {
         taskService.delete(id);
     }
+
+    private static boolean isPresent(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private static ChangePositionDTO decodeChangeToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            return ChangeTokenUtils.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid change token");
+        }
+    }
+
+    private ResponseEntity<List<TaskDTO>> page(
+            TaskFilterDTO filter,
+            TaskPageParamsDTO pageParams,
+            Long afterId,
+            WebRequest request) {
+        int limit = pageParams.getLimit() == null ? TaskQueryUtils.DEFAULT_PAGE_SIZE : pageParams.getLimit();
+        var page = taskQueryService.findPageByFilters(filter, limit, afterId, pageParams.isWithTotal());
+        String eTag = ETagUtils.ofTasks(page.getTasks(), page.getNextAfterId(), page.getTotalCount());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        var response = ResponseEntity.ok().eTag(eTag);
+        if (page.getNextAfterId() != null) {
+            response.header("X-Next-Cursor", CursorUtils.encode(page.getNextAfterId()));
+        }
+        if (page.getTotalCount() != null) {
+            response.header("X-Total-Count", String.valueOf(page.getTotalCount()));
+        }
+        return response.body(page.getTasks());
+    }
+
+    private static void writeTask(JsonGenerator generator, TaskDTO task) {
+        try {
+            generator.writeObject(task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
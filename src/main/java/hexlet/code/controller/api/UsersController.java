@@ -4,6 +4,7 @@ import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.service.UserService;
+import hexlet.code.utils.UserUtils;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +19,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -27,8 +27,11 @@ public class UsersController {
 
     private final UserService userService;
 
-    public UsersController(UserService userService) {
+    private final UserUtils userUtils;
+
+    public UsersController(UserService userService, UserUtils userUtils) {
         this.userService = userService;
+        this.userUtils = userUtils;
     }
 
     @PostMapping
@@ -51,11 +54,9 @@ public class UsersController {
 
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    UserDTO update(@Valid @RequestBody UserUpdateDTO userData, @PathVariable Long id, Principal principal) {
-        var currentUser = userService.findUserByEmail(principal.getName());
-        var targetUser = userService.findById(id);
-        boolean isAdmin = userService.isAdmin(principal.getName());
-        if (!currentUser.getId().equals(targetUser.getId()) && !isAdmin) {
+    UserDTO update(@Valid @RequestBody UserUpdateDTO userData, @PathVariable Long id) {
+        if (!userUtils.getCurrentPrincipal().canManage(id)) {
+            userService.checkExists(id);
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only edit your own profile");
         }
         return userService.update(userData, id);
@@ -63,11 +64,9 @@ public class UsersController {
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    void delete(@PathVariable Long id, Principal principal) {
-        var currentUser = userService.findUserByEmail(principal.getName());
-        var targetUser = userService.findById(id);
-        boolean isAdmin = userService.isAdmin(principal.getName());
-        if (!currentUser.getId().equals(targetUser.getId()) && !isAdmin) {
+    void delete(@PathVariable Long id) {
+        if (!userUtils.getCurrentPrincipal().canManage(id)) {
+            userService.checkExists(id);
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only delete your own profile");
         }
         userService.delete(id);
@@ -0,0 +1,17 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+@Data
+@AllArgsConstructor
+public class ChangePositionDTO {
+    public static final Comparator<ChangePositionDTO> ORDER = Comparator.comparing(ChangePositionDTO::getAt)
+            .thenComparing(ChangePositionDTO::getId);
+
+    private Long id;
+    private Instant at;
+}
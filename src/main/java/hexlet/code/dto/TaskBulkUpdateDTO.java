@@ -0,0 +1,26 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+import java.util.Set;
+
+@Data
+public class TaskBulkUpdateDTO {
+
+    @Size(min = 1, max = 1000, message = "Between 1 and 1000 ids can be updated at once.")
+    private Set<Long> ids;
+
+    private TaskFilterDTO filter;
+
+    private String status;
+
+    @JsonProperty("assignee_id")
+    private JsonNullable<Long> assigneeId;
+
+    private Set<Long> addLabelIds;
+
+    private Set<Long> removeLabelIds;
+}
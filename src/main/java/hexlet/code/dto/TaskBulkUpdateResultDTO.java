@@ -0,0 +1,13 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskBulkUpdateResultDTO {
+    private int matched;
+    private int updated;
+    private int labelsAdded;
+    private int labelsRemoved;
+}
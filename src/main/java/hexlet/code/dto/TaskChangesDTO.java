@@ -0,0 +1,15 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskChangesDTO {
+    private List<TaskDTO> tasks;
+    private List<Long> deletedIds;
+    private String token;
+    private boolean hasMore;
+}
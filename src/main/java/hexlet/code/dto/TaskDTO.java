@@ -1,12 +1,15 @@
 package hexlet.code.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.util.Set;
 
 @Data
+@NoArgsConstructor
 public class TaskDTO {
     private Long id;
     private Integer index;
@@ -24,4 +27,24 @@ public class TaskDTO {
     private String status;
 
     private Set<Long> taskLabelIds;
+
+    @JsonIgnore
+    private Long version;
+
+    public TaskDTO(
+            Long id,
+            Integer index,
+            Instant createdAt,
+            Long assigneeId,
+            String name,
+            String description,
+            String status) {
+        this.id = id;
+        this.index = index;
+        this.createdAt = createdAt;
+        this.assigneeId = assigneeId;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+    }
 }
@@ -2,10 +2,13 @@ package hexlet.code.dto;
 
 import lombok.Data;
 
+import java.util.Set;
+
 @Data
 public class TaskFilterDTO {
     private String titleCont;
-    private Long assigneeId;
-    private String status;
-    private Long labelId;
+    private Set<Long> assigneeId;
+    private Set<String> status;
+    private Set<Long> labelId;
+    private boolean matchAllLabels;
 }
@@ -0,0 +1,14 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskPageDTO {
+    private List<TaskDTO> tasks;
+    private Long nextAfterId;
+    private Long totalCount;
+}
@@ -0,0 +1,10 @@
+package hexlet.code.dto;
+
+import lombok.Data;
+
+@Data
+public class TaskPageParamsDTO {
+    private Integer limit;
+    private String after;
+    private boolean withTotal;
+}
@@ -0,0 +1,12 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class VersionSummaryDTO {
+    private Long count;
+    private Long idSum;
+    private Long versionSum;
+}
@@ -0,0 +1,4 @@
+package hexlet.code.event;
+
+public record LabelChangedEvent(Long labelId, boolean deleted) {
+}
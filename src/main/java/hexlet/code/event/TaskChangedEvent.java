@@ -0,0 +1,10 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.TaskDTO;
+
+public record TaskChangedEvent(Long taskId, TaskDTO task, Long statusId) {
+
+    public boolean isDeleted() {
+        return task == null;
+    }
+}
@@ -0,0 +1,4 @@
+package hexlet.code.event;
+
+public record TaskStatusChangedEvent(Long statusId, String oldSlug, String newSlug) {
+}
@@ -0,0 +1,69 @@
+package hexlet.code.listener;
+
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.stream.Collectors;
+
+public class TaskEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public TaskEntityListener(ApplicationEventPublisher eventPublisher, ReferenceDataCache referenceDataCache) {
+        this.eventPublisher = eventPublisher;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Task task) {
+        var statusId = task.getTaskStatus() == null ? null : task.getTaskStatus().getId();
+        eventPublisher.publishEvent(new TaskChangedEvent(task.getId(), snapshot(task), statusId));
+    }
+
+    @PostRemove
+    public void onRemove(Task task) {
+        eventPublisher.publishEvent(new TaskChangedEvent(task.getId(), null, null));
+    }
+
+    // Reads only state that is already loaded; status or labels stay null when they would need a query.
+    private TaskDTO snapshot(Task task) {
+        var status = task.getTaskStatus();
+        var dto = new TaskDTO(
+                task.getId(),
+                task.getIndex(),
+                task.getCreatedAt(),
+                task.getAssignee() == null ? null : task.getAssignee().getId(),
+                task.getName(),
+                task.getDescription(),
+                statusSlug(status));
+
+        if (Hibernate.isInitialized(task.getLabels())) {
+            dto.setTaskLabelIds(task.getLabels().stream()
+                    .map(Label::getId)
+                    .collect(Collectors.toSet()));
+        }
+        return dto;
+    }
+
+    private String statusSlug(TaskStatus status) {
+        if (status == null) {
+            return null;
+        }
+        if (Hibernate.isInitialized(status)) {
+            return status.getSlug();
+        }
+        return referenceDataCache.findStatusSlug(status.getId()).orElse(null);
+    }
+}
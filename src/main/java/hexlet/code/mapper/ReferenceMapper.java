@@ -0,0 +1,29 @@
+package hexlet.code.mapper;
+
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.model.TaskStatus;
+import org.hibernate.Hibernate;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReferenceMapper {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public ReferenceMapper(ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    // A status set by reference stays an unloaded proxy; its slug comes from the cache instead of a query.
+    @Named("statusSlug")
+    public String statusSlug(TaskStatus status) {
+        if (status == null) {
+            return null;
+        }
+        if (Hibernate.isInitialized(status)) {
+            return status.getSlug();
+        }
+        return referenceDataCache.findStatusSlug(status.getId()).orElseGet(status::getSlug);
+    }
+}
@@ -0,0 +1,37 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "task_tombstones",
+        indexes = @Index(name = "idx_task_tombstones_deleted_at", columnList = "deleted_at, task_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone implements Persistable<Long> {
+
+    @Id
+    private Long taskId;
+
+    private Instant deletedAt;
+
+    @Override
+    public Long getId() {
+        return taskId;
+    }
+
+    // Tombstones are only ever inserted, so saving one never needs the select a merge would do.
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -1,7 +1,10 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.VersionSummaryDTO;
 import hexlet.code.model.Label;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +12,11 @@ import java.util.Optional;
 @Repository
 public interface LabelRepository extends JpaRepository<Label, Long> {
     Optional<Label> findByName(String name);
+
+    @Query("SELECT l.version FROM Label l WHERE l.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new hexlet.code.dto.VersionSummaryDTO(count(l), coalesce(sum(l.id), 0L), "
+            + "coalesce(sum(l.version), 0L)) FROM Label l")
+    VersionSummaryDTO summarizeVersions();
 }
@@ -0,0 +1,205 @@
+package hexlet.code.repository;
+
+import hexlet.code.component.ReactiveApiProperties;
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.utils.SearchUtils;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Read-only SQL over R2DBC producing the same DTOs as the JPA read paths. Tasks are read in id order and
+ * buffered into batches; each batch costs one extra query for its label ids, so a subscriber that stops
+ * requesting also stops the label lookups. Lists of tasks and users are keyset-paged: afterId and limit are
+ * both optional, a null limit reading to the end.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "reactive-api", name = "enabled", havingValue = "true")
+public class ReactiveReadRepository {
+
+    private static final String TASK_SELECT = "SELECT t.id, t.index, t.created_at, t.assignee_id, t.name,"
+            + " t.description, s.slug FROM tasks t LEFT JOIN task_statuses s ON s.id = t.task_status_id";
+
+    private final DatabaseClient databaseClient;
+
+    private final int batchSize;
+
+    public ReactiveReadRepository(DatabaseClient reactiveDatabaseClient, ReactiveApiProperties properties) {
+        this.databaseClient = reactiveDatabaseClient;
+        this.batchSize = properties.getBatchSize();
+    }
+
+    public Flux<TaskDTO> findTasks(TaskFilterDTO filter, Long afterId, Integer limit) {
+        var where = new StringBuilder(" WHERE 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (afterId != null) {
+            where.append(" AND t.id > :after");
+            params.put("after", afterId);
+        }
+        if (filter.getTitleCont() != null) {
+            where.append(" AND LOWER(t.name) LIKE :title ESCAPE '").append(SearchUtils.LIKE_ESCAPE).append('\'');
+            params.put("title", SearchUtils.containsPattern(filter.getTitleCont()));
+        }
+        if (isPresent(filter.getAssigneeId())) {
+            where.append(" AND t.assignee_id IN (:assignees)");
+            params.put("assignees", filter.getAssigneeId());
+        }
+        if (isPresent(filter.getStatus())) {
+            where.append(" AND s.slug IN (:statuses)");
+            params.put("statuses", filter.getStatus());
+        }
+        if (isPresent(filter.getLabelId())) {
+            where.append(" AND t.id IN (SELECT tl.task_id FROM task_label tl WHERE tl.label_id IN (:labels)");
+            params.put("labels", filter.getLabelId());
+            if (filter.isMatchAllLabels()) {
+                where.append(" GROUP BY tl.task_id HAVING COUNT(DISTINCT tl.label_id) = :labelCount");
+                params.put("labelCount", filter.getLabelId().size());
+            }
+            where.append(')');
+        }
+        return tasks(where.toString(), params, limit);
+    }
+
+    public Mono<TaskDTO> findTask(Long id) {
+        return tasks(" WHERE t.id = :id", Map.of("id", id), null).next();
+    }
+
+    public Flux<LabelDTO> findLabels() {
+        return databaseClient.sql("SELECT id, name, created_at FROM labels ORDER BY id")
+                .map(ReactiveReadRepository::toLabel)
+                .all();
+    }
+
+    public Mono<LabelDTO> findLabel(Long id) {
+        return databaseClient.sql("SELECT id, name, created_at FROM labels WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveReadRepository::toLabel)
+                .one();
+    }
+
+    public Flux<TaskStatusDTO> findTaskStatuses() {
+        return databaseClient.sql("SELECT id, name, slug, created_at FROM task_statuses ORDER BY id")
+                .map(ReactiveReadRepository::toTaskStatus)
+                .all();
+    }
+
+    public Mono<TaskStatusDTO> findTaskStatus(Long id) {
+        return databaseClient.sql("SELECT id, name, slug, created_at FROM task_statuses WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveReadRepository::toTaskStatus)
+                .one();
+    }
+
+    public Flux<UserDTO> findUsers(Long afterId, Integer limit) {
+        var spec = databaseClient.sql("SELECT id, email, first_name, last_name, created_at FROM users"
+                + (afterId != null ? " WHERE id > :after" : "")
+                + " ORDER BY id"
+                + (limit != null ? " LIMIT :limit" : ""));
+        if (afterId != null) {
+            spec = spec.bind("after", afterId);
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec.map(ReactiveReadRepository::toUser).all();
+    }
+
+    public Mono<UserDTO> findUser(Long id) {
+        return databaseClient.sql("SELECT id, email, first_name, last_name, created_at FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveReadRepository::toUser)
+                .one();
+    }
+
+    private Flux<TaskDTO> tasks(String where, Map<String, Object> params, Integer limit) {
+        var spec = databaseClient.sql(TASK_SELECT + where + " ORDER BY t.id" + (limit != null ? " LIMIT :limit" : ""));
+        for (var param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec.map(ReactiveReadRepository::toTask)
+                .all()
+                .buffer(batchSize)
+                .concatMap(this::withLabels);
+    }
+
+    private Flux<TaskDTO> withLabels(List<TaskDTO> tasks) {
+        var ids = tasks.stream().map(TaskDTO::getId).toList();
+        return databaseClient.sql("SELECT task_id, label_id FROM task_label WHERE task_id IN (:ids)")
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("task_id", Long.class), row.get("label_id", Long.class)))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMapIterable(labels -> {
+                    for (var task : tasks) {
+                        task.setTaskLabelIds(new HashSet<>(labels.getOrDefault(task.getId(), List.of())));
+                    }
+                    return tasks;
+                });
+    }
+
+    private static TaskDTO toTask(Readable row) {
+        return new TaskDTO(
+                row.get("id", Long.class),
+                row.get("index", Integer.class),
+                instant(row, "created_at"),
+                row.get("assignee_id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("slug", String.class));
+    }
+
+    private static LabelDTO toLabel(Readable row) {
+        var label = new LabelDTO();
+        label.setId(row.get("id", Long.class));
+        label.setName(row.get("name", String.class));
+        label.setCreatedAt(instant(row, "created_at"));
+        return label;
+    }
+
+    private static TaskStatusDTO toTaskStatus(Readable row) {
+        var status = new TaskStatusDTO();
+        status.setId(row.get("id", Long.class));
+        status.setName(row.get("name", String.class));
+        status.setSlug(row.get("slug", String.class));
+        status.setCreatedAt(instant(row, "created_at"));
+        return status;
+    }
+
+    private static UserDTO toUser(Readable row) {
+        var user = new UserDTO();
+        user.setId(row.get("id", Long.class));
+        user.setEmail(row.get("email", String.class));
+        user.setFirstName(row.get("first_name", String.class));
+        user.setLastName(row.get("last_name", String.class));
+        user.setCreatedAt(instant(row, "created_at"));
+        return user;
+    }
+
+    // Hibernate maps Instant to "timestamp with time zone", which both R2DBC drivers read as OffsetDateTime.
+    private static Instant instant(Readable row, String column) {
+        var value = row.get(column, OffsetDateTime.class);
+        return value == null ? null : value.toInstant();
+    }
+
+    private static boolean isPresent(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+}
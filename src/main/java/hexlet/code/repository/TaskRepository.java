@@ -1,39 +1,46 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.ChangePositionDTO;
 import hexlet.code.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
     Optional<Task> findByName(String name);
     Optional<Task> findByAssigneeId(Long id);
     Optional<Task> findByTaskStatusId(Long id);
     Optional<Task> findByIndex(Integer index);
 
-    @Query("""
-        SELECT DISTINCT t FROM Task t
-        LEFT JOIN t.assignee a
-        LEFT JOIN t.taskStatus ts
-        LEFT JOIN t.labels l
-        WHERE (:titleCont IS NULL OR LOWER(t.name) LIKE LOWER(CONCAT('%', :titleCont, '%')))
-        AND (:assigneeId IS NULL OR a.id = :assigneeId)
-        AND (:status IS NULL OR ts.slug = :status)
-        AND (:labelId IS NULL OR l.id = :labelId)
-    """)
-    List<Task> findByFilters(
-            @Param("titleCont") String titleCont,
-            @Param("assigneeId") Long assigneeId,
-            @Param("status") String status,
-            @Param("labelId") Long labelId
-    );
+    @Query("SELECT t.id, l.id FROM Task t JOIN t.labels l WHERE t.id IN :taskIds")
+    List<Object[]> findLabelIdsByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    // Counts the status version too, like the list query: a renamed status changes the task as shown.
+    @Query("SELECT t.version + COALESCE(s.version, 0) FROM Task t LEFT JOIN t.taskStatus s WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT t.id, s.id, a.id FROM Task t LEFT JOIN t.taskStatus s LEFT JOIN t.assignee a")
+    Stream<Object[]> streamIndexRows();
+
+    @Query("SELECT t.id, l.id FROM Task t JOIN t.labels l")
+    Stream<Object[]> streamLabelRows();
 
     @EntityGraph(attributePaths = {"labels", "taskStatus", "assignee"})
     @Override
@@ -44,4 +51,28 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findAll();
 
     boolean existsByLabelsId(Long labelId);
+
+    @Query("SELECT new hexlet.code.dto.ChangePositionDTO(t.id, t.updatedAt) FROM Task t "
+            + "WHERE t.updatedAt > :at OR (t.updatedAt = :at AND t.id > :id) ORDER BY t.updatedAt, t.id")
+    List<ChangePositionDTO> findChangedAfter(@Param("at") Instant at, @Param("id") Long id, Limit limit);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.updatedAt = :at WHERE t.taskStatus.id = :statusId")
+    int touchByTaskStatusId(@Param("statusId") Long statusId, @Param("at") Instant at);
+
+    // Native statements evict every cached region unless they name the tables they touch.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_label"))
+    @Query(value = "INSERT INTO task_label (task_id, label_id) "
+            + "SELECT t.id, l.id FROM tasks t CROSS JOIN labels l "
+            + "WHERE t.id IN (:taskIds) AND l.id IN (:labelIds) "
+            + "AND NOT EXISTS (SELECT 1 FROM task_label tl WHERE tl.task_id = t.id AND tl.label_id = l.id)",
+            nativeQuery = true)
+    int addLabels(@Param("taskIds") Collection<Long> taskIds, @Param("labelIds") Collection<Long> labelIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_label"))
+    @Query(value = "DELETE FROM task_label WHERE task_id IN (:taskIds) AND label_id IN (:labelIds)",
+            nativeQuery = true)
+    int removeLabels(@Param("taskIds") Collection<Long> taskIds, @Param("labelIds") Collection<Long> labelIds);
 }
@@ -0,0 +1,22 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+    List<TaskDTO> findDTOs(Specification<Task> spec, Long afterId, Integer limit);
+
+    List<TaskDTO> findCacheableDTOs(Specification<Task> spec);
+
+    Stream<TaskDTO> streamDTOs(Specification<Task> spec);
+
+    List<Long> findIds(Specification<Task> spec, Integer limit);
+
+    int updateAll(Collection<Long> ids, Map<String, Object> changes);
+}
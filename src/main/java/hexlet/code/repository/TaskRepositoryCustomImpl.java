@@ -0,0 +1,146 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.model.Task;
+import hexlet.code.specification.TaskSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    public static final String FILTER_QUERY_CACHE_REGION = "task-filter-query";
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    public TaskRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TaskDTO> findDTOs(Specification<Task> spec, Long afterId, Integer limit) {
+        var query = createQuery(spec, afterId);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList().stream().map(TaskRepositoryCustomImpl::toDTO).toList();
+    }
+
+    // Goes to the query cache when the second-level cache is enabled; a write to any task drops all its results.
+    @Override
+    public List<TaskDTO> findCacheableDTOs(Specification<Task> spec) {
+        return createQuery(spec, null)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, FILTER_QUERY_CACHE_REGION)
+                .getResultList()
+                .stream()
+                .map(TaskRepositoryCustomImpl::toDTO)
+                .toList();
+    }
+
+    @Override
+    public Stream<TaskDTO> streamDTOs(Specification<Task> spec) {
+        return createQuery(spec, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream()
+                .map(TaskRepositoryCustomImpl::toDTO);
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Task> spec, Integer limit) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var root = query.from(Task.class);
+
+        query.select(root.<Long>get("id"))
+                .where(predicates(spec, null, root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        var typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public int updateAll(Collection<Long> ids, Map<String, Object> changes) {
+        var cb = entityManager.getCriteriaBuilder();
+        var update = cb.createCriteriaUpdate(Task.class);
+        var root = update.from(Task.class);
+
+        changes.forEach(update::set);
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L))
+                .set(root.<Instant>get("updatedAt"), Instant.now())
+                .where(root.get("id").in(ids));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private TypedQuery<Tuple> createQuery(Specification<Task> spec, Long afterId) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(Task.class);
+        var status = TaskSpecification.statusJoin(root);
+
+        // A renamed status changes every task it is shown on, so its version counts towards the task's.
+        Expression<Long> version = cb.sum(root.<Long>get("version"), cb.coalesce(status.<Long>get("version"), 0L));
+        query.multiselect(
+                root.get("id"),
+                root.get("index"),
+                root.get("createdAt"),
+                root.get("assignee").get("id"),
+                root.get("name"),
+                root.get("description"),
+                status.get("slug"),
+                version);
+
+        query.where(predicates(spec, afterId, root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query);
+    }
+
+    private static TaskDTO toDTO(Tuple row) {
+        var dto = new TaskDTO(
+                row.get(0, Long.class),
+                row.get(1, Integer.class),
+                row.get(2, Instant.class),
+                row.get(3, Long.class),
+                row.get(4, String.class),
+                row.get(5, String.class),
+                row.get(6, String.class));
+        dto.setVersion(row.get(7, Long.class));
+        return dto;
+    }
+
+    private static Predicate[] predicates(
+            Specification<Task> spec,
+            Long afterId,
+            Root<Task> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        var filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(root.<Long>get("id"), afterId));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+}
@@ -1,7 +1,10 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.VersionSummaryDTO;
 import hexlet.code.model.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +12,11 @@ import java.util.Optional;
 @Repository
 public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
     Optional<TaskStatus> findBySlug(String slug);
+
+    @Query("SELECT s.version FROM TaskStatus s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new hexlet.code.dto.VersionSummaryDTO(count(s), coalesce(sum(s.id), 0L), "
+            + "coalesce(sum(s.version), 0L)) FROM TaskStatus s")
+    VersionSummaryDTO summarizeVersions();
 }
@@ -0,0 +1,27 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.ChangePositionDTO;
+import hexlet.code.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    @Query("SELECT new hexlet.code.dto.ChangePositionDTO(t.taskId, t.deletedAt) FROM TaskTombstone t "
+            + "WHERE t.deletedAt > :at OR (t.deletedAt = :at AND t.taskId > :id) ORDER BY t.deletedAt, t.taskId")
+    List<ChangePositionDTO> findDeletedAfter(@Param("at") Instant at, @Param("id") Long id, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
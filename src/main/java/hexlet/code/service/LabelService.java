@@ -1,13 +1,17 @@
 package hexlet.code.service;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.LabelDTO;
 import hexlet.code.dto.LabelUpdateDTO;
+import hexlet.code.event.LabelChangedEvent;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.utils.ETagUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,13 +28,21 @@ public class LabelService {
 
     private final LabelMapper labelMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReferenceDataCache referenceDataCache;
+
     public LabelService(
             LabelRepository labelRepository,
             TaskRepository taskRepository,
-            LabelMapper labelMapper) {
+            LabelMapper labelMapper,
+            ApplicationEventPublisher eventPublisher,
+            ReferenceDataCache referenceDataCache) {
         this.labelRepository = labelRepository;
         this.taskRepository = taskRepository;
         this.labelMapper = labelMapper;
+        this.eventPublisher = eventPublisher;
+        this.referenceDataCache = referenceDataCache;
     }
 
     public List<LabelDTO> findAll() {
@@ -45,9 +57,20 @@ public class LabelService {
         return labelMapper.map(label);
     }
 
+    public String getETag(Long id) {
+        return labelRepository.findVersionById(id)
+                .map(version -> ETagUtils.of(id, version))
+                .orElseThrow(() -> new ResourceNotFoundException("Label with id " + id + " not found"));
+    }
+
+    public String getListETag() {
+        return ETagUtils.of(labelRepository.summarizeVersions());
+    }
+
     public LabelDTO create(LabelCreateDTO labelData) {
         Label label = labelMapper.map(labelData);
         labelRepository.save(label);
+        eventPublisher.publishEvent(new LabelChangedEvent(label.getId(), false));
         return labelMapper.map(label);
     }
 
@@ -56,11 +79,12 @@ public class LabelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Label with id " + id + " not found"));
         labelMapper.update(labelData, label);
         labelRepository.save(label);
+        eventPublisher.publishEvent(new LabelChangedEvent(id, false));
         return labelMapper.map(label);
     }
 
     public boolean labelExists(String name) {
-        return labelRepository.findByName(name).isPresent();
+        return referenceDataCache.labelExists(name);
     }
 
     public void delete(Long id) {
@@ -68,5 +92,6 @@ public class LabelService {
             throw new DataIntegrityViolationException("Label is associated with a task and cannot be deleted.");
         }
         labelRepository.deleteById(id);
+        eventPublisher.publishEvent(new LabelChangedEvent(id, true));
     }
 }
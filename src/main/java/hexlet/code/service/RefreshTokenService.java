@@ -0,0 +1,131 @@
+package hexlet.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.component.RefreshTokenProperties;
+import hexlet.code.config.JWTUtils;
+import hexlet.code.dto.TokenPairDTO;
+import hexlet.code.model.RefreshToken;
+import hexlet.code.model.User;
+import hexlet.code.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/*
+ * Opaque, single-use refresh tokens. Only a SHA-256 of each token is stored; tokens are 256 random bits, so a
+ * fast hash is enough. Every refresh revokes the presented token and issues the next one in the same family.
+ * Presenting a revoked token means it was copied, so the whole family is revoked and the holder has to log in
+ * again. Revoked families are also kept in memory, which turns replays away without touching the database.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final JWTUtils jwtUtils;
+
+    private final RefreshTokenProperties properties;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final Cache<String, Boolean> revokedFamilies;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            JWTUtils jwtUtils,
+            RefreshTokenProperties properties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtUtils = jwtUtils;
+        this.properties = properties;
+        this.revokedFamilies = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxRevokedFamilies())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    public String issue(User user) {
+        return save(user, UUID.randomUUID().toString());
+    }
+
+    // The revocation and the next token commit together; a detected reuse still commits the family's revocation.
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public TokenPairDTO refresh(String rawToken) {
+        var token = refreshTokenRepository.findWithUserByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Unknown refresh token"));
+        if (revokedFamilies.getIfPresent(token.getFamily()) != null || token.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Refresh token has expired or was revoked");
+        }
+        if (refreshTokenRepository.revokeIfActive(token.getId()) == 0) {
+            log.warn("Refresh token reuse detected for user {}, revoking its family", token.getUser().getId());
+            revokeFamily(token.getFamily());
+            throw new BadCredentialsException("Refresh token was already used");
+        }
+
+        var user = token.getUser();
+        return new TokenPairDTO(jwtUtils.generateToken(user), save(user, token.getFamily()));
+    }
+
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findWithUserByTokenHash(hash(rawToken))
+                .ifPresent(token -> revokeFamily(token.getFamily()));
+    }
+
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    // Runs on the async executor (virtual threads when enabled), so a long DELETE never holds the scheduler
+    // thread that also drives stream heartbeats and the reference-data refresh.
+    @Async
+    @Scheduled(fixedDelayString = "${refresh-token.purge-interval}")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpiredBefore(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String save(User user, String family) {
+        var bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        var rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        var token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamily(family);
+        token.setUser(user);
+        token.setExpiresAt(Instant.now().plus(properties.getTtl()));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private void revokeFamily(String family) {
+        revokedFamilies.put(family, Boolean.TRUE);
+        refreshTokenRepository.revokeFamily(family);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
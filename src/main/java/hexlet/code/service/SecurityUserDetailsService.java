@@ -3,13 +3,14 @@ package hexlet.code.service;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
 
 @Service
-public class SecurityUserDetailsService implements UserDetailsManager {
+public class SecurityUserDetailsService implements UserDetailsManager, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -22,7 +23,6 @@ public class SecurityUserDetailsService implements UserDetailsManager {
         this.passwordEncoder = passwordEncoder;
     }
 
-
     @Override
     public void createUser(UserDetails userData) {
         User user = new User();
@@ -57,4 +57,13 @@ public class SecurityUserDetailsService implements UserDetailsManager {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
+
+    // Called after a successful login when the stored hash was made with a different BCrypt strength.
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        var user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        user.setPasswordDigest(newPassword);
+        return userRepository.save(user);
+    }
 }
@@ -0,0 +1,113 @@
+package hexlet.code.service;
+
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.dto.TaskBulkUpdateDTO;
+import hexlet.code.dto.TaskBulkUpdateResultDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.specification.TaskSpecification;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Applies one change set to many tasks with a few set-based statements per chunk of ids instead of a
+ * read-modify-save cycle per task. Bulk statements bypass the entity listener, so the change events are
+ * published here from the state read back after the update.
+ */
+@Service
+public class TaskBulkService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+
+    private final UserRepository userRepository;
+
+    private final ReferenceDataCache referenceDataCache;
+
+    private final TaskSpecification taskSpecification;
+
+    private final TaskQueryService taskQueryService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskBulkService(
+            TaskRepository taskRepository,
+            UserRepository userRepository,
+            ReferenceDataCache referenceDataCache,
+            TaskSpecification taskSpecification,
+            TaskQueryService taskQueryService,
+            ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.taskSpecification = taskSpecification;
+        this.taskQueryService = taskQueryService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public TaskBulkUpdateResultDTO update(TaskBulkUpdateDTO bulkData) {
+        Map<String, Object> changes = new HashMap<>();
+        Long statusId = null;
+        List<String> statusSlugs = new ArrayList<>();
+
+        if (bulkData.getStatus() != null) {
+            var status = referenceDataCache.getStatusReference(bulkData.getStatus());
+            changes.put("taskStatus", status);
+            statusSlugs.add(bulkData.getStatus());
+            statusId = status.getId();
+        }
+
+        if (bulkData.getAssigneeId() != null && bulkData.getAssigneeId().isPresent()) {
+            Long assigneeId = bulkData.getAssigneeId().get();
+            changes.put("assignee", assigneeId == null ? null : userRepository.findById(assigneeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Assignee with id " + assigneeId + " not found")));
+        }
+
+        Set<Long> addLabelIds = orEmpty(bulkData.getAddLabelIds());
+        Set<Long> removeLabelIds = orEmpty(bulkData.getRemoveLabelIds());
+        referenceDataCache.checkLabelsExist(addLabelIds);
+
+        var spec = bulkData.getIds() != null
+                ? taskSpecification.byIds(bulkData.getIds(), null)
+                : taskSpecification.build(bulkData.getFilter());
+        List<Long> taskIds = taskRepository.findIds(spec, null);
+
+        int updated = 0;
+        int labelsAdded = 0;
+        int labelsRemoved = 0;
+        for (int from = 0; from < taskIds.size(); from += CHUNK_SIZE) {
+            var chunk = taskIds.subList(from, Math.min(from + CHUNK_SIZE, taskIds.size()));
+
+            updated += referenceDataCache.writeWithStatuses(statusSlugs,
+                    () -> taskRepository.updateAll(chunk, changes));
+            if (!addLabelIds.isEmpty()) {
+                labelsAdded += taskRepository.addLabels(chunk, addLabelIds);
+            }
+            if (!removeLabelIds.isEmpty()) {
+                labelsRemoved += taskRepository.removeLabels(chunk, removeLabelIds);
+            }
+
+            for (var task : taskQueryService.findByIds(chunk)) {
+                eventPublisher.publishEvent(new TaskChangedEvent(task.getId(), task, statusId));
+            }
+        }
+
+        return new TaskBulkUpdateResultDTO(taskIds.size(), updated, labelsAdded, labelsRemoved);
+    }
+
+    private static Set<Long> orEmpty(Set<Long> ids) {
+        return ids == null ? new HashSet<>() : ids;
+    }
+}
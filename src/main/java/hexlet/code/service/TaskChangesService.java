@@ -0,0 +1,104 @@
+package hexlet.code.service;
+
+import hexlet.code.component.TaskChangesProperties;
+import hexlet.code.dto.ChangePositionDTO;
+import hexlet.code.dto.TaskChangesDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.exception.ChangeTokenExpiredException;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskTombstoneRepository;
+import hexlet.code.utils.ChangeTokenUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Serves task changes ordered by (updatedAt, id), merged with tombstones ordered by (deletedAt, taskId).
+ * A transaction can commit a little after the timestamp it wrote, so a finished sync hands out a token that
+ * lies commitWindow in the past: recent changes may be sent twice, but none is skipped.
+ */
+@Slf4j
+@Service
+public class TaskChangesService {
+
+    private static final ChangePositionDTO START = new ChangePositionDTO(0L, Instant.EPOCH);
+
+    private final TaskRepository taskRepository;
+
+    private final TaskTombstoneRepository taskTombstoneRepository;
+
+    private final TaskQueryService taskQueryService;
+
+    private final TaskChangesProperties properties;
+
+    public TaskChangesService(
+            TaskRepository taskRepository,
+            TaskTombstoneRepository taskTombstoneRepository,
+            TaskQueryService taskQueryService,
+            TaskChangesProperties properties) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskQueryService = taskQueryService;
+        this.properties = properties;
+    }
+
+    @Transactional(readOnly = true)
+    public TaskChangesDTO findChanges(ChangePositionDTO since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, TaskQueryService.MAX_PAGE_SIZE));
+        var now = Instant.now();
+        if (since != null && since.getAt().isBefore(now.minus(properties.getTombstoneRetention()))) {
+            throw new ChangeTokenExpiredException("The change token has expired, reload /api/tasks and start over");
+        }
+
+        var from = since == null ? START : since;
+        var changed = taskRepository.findChangedAfter(from.getAt(), from.getId(), Limit.of(pageSize + 1));
+        // A first sync starts from an empty client, so there is nothing to delete yet.
+        List<ChangePositionDTO> deleted = since == null
+                ? List.of()
+                : taskTombstoneRepository.findDeletedAfter(from.getAt(), from.getId(), Limit.of(pageSize + 1));
+
+        List<Long> taskIds = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        ChangePositionDTO last = null;
+        int i = 0;
+        int j = 0;
+        while (taskIds.size() + deletedIds.size() < pageSize && (i < changed.size() || j < deleted.size())) {
+            boolean nextIsTask = j == deleted.size()
+                    || i < changed.size() && ChangePositionDTO.ORDER.compare(changed.get(i), deleted.get(j)) <= 0;
+            if (nextIsTask) {
+                last = changed.get(i++);
+                taskIds.add(last.getId());
+            } else {
+                last = deleted.get(j++);
+                deletedIds.add(last.getId());
+            }
+        }
+        boolean hasMore = i < changed.size() || j < deleted.size();
+
+        // Mid-sync the token always moves forward, so a burst larger than a page cannot pin the client in place;
+        // only the final page steps back to the commit window.
+        var settled = new ChangePositionDTO(0L, now.minus(properties.getCommitWindow()));
+        var next = hasMore ? last : settled;
+
+        List<TaskDTO> tasks = taskIds.isEmpty() ? List.of() : taskQueryService.findByIds(taskIds);
+        return new TaskChangesDTO(tasks, deletedIds, ChangeTokenUtils.encode(next), hasMore);
+    }
+
+    // Runs on the async executor (virtual threads when enabled), so a long DELETE never holds the scheduler
+    // thread that also drives stream heartbeats and the reference-data refresh.
+    @Async
+    @Scheduled(fixedDelayString = "${task-changes.purge-interval}")
+    public void purgeTombstones() {
+        int purged = taskTombstoneRepository.deleteOlderThan(Instant.now().minus(properties.getTombstoneRetention()));
+        if (purged > 0) {
+            log.info("Purged {} task tombstones", purged);
+        }
+    }
+}
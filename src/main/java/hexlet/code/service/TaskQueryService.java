@@ -0,0 +1,140 @@
+package hexlet.code.service;
+
+import hexlet.code.component.TaskBitmapIndex;
+import hexlet.code.component.TaskFilterCache;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.dto.TaskPageDTO;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.specification.TaskSpecification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class TaskQueryService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    private static final int LABEL_BATCH_SIZE = 1000;
+
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+
+    private final TaskSpecification taskSpecification;
+
+    private final TaskFilterCache taskFilterCache;
+
+    private final TaskBitmapIndex taskBitmapIndex;
+
+    public TaskQueryService(
+            TaskRepository taskRepository,
+            TaskSpecification taskSpecification,
+            TaskFilterCache taskFilterCache,
+            TaskBitmapIndex taskBitmapIndex) {
+        this.taskRepository = taskRepository;
+        this.taskSpecification = taskSpecification;
+        this.taskFilterCache = taskFilterCache;
+        this.taskBitmapIndex = taskBitmapIndex;
+    }
+
+    public List<TaskDTO> findByFilters(TaskFilterDTO filters) {
+        return taskFilterCache.get(filters, () -> loadByFilters(filters));
+    }
+
+    public TaskPageDTO findPageByFilters(TaskFilterDTO filters, int limit, Long afterId, boolean withTotal) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        var spec = taskSpecification.build(filters);
+
+        List<TaskDTO> tasks = taskRepository.findDTOs(spec, afterId, pageSize + 1);
+
+        boolean hasMore = tasks.size() > pageSize;
+        List<TaskDTO> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+        fillLabelIds(page);
+        Long nextAfterId = hasMore ? page.get(page.size() - 1).getId() : null;
+
+        Long totalCount = null;
+        if (withTotal) {
+            totalCount = taskRepository.count(spec);
+        }
+
+        return new TaskPageDTO(page, nextAfterId, totalCount);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamByFilters(TaskFilterDTO filters, Consumer<TaskDTO> consumer) {
+        try (Stream<TaskDTO> tasks = taskRepository.streamDTOs(taskSpecification.build(filters))) {
+            List<TaskDTO> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            var iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    fillLabelIds(chunk);
+                    chunk.forEach(consumer);
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    // The first limit matching ids, without loading the tasks themselves.
+    public List<Long> findIds(TaskFilterDTO filters, int limit) {
+        return taskRepository.findIds(taskSpecification.build(filters), limit);
+    }
+
+    public List<TaskDTO> findByIds(Collection<Long> ids) {
+        List<TaskDTO> tasks = findByIds(ids.stream().mapToLong(Long::longValue).sorted().toArray(), null);
+        fillLabelIds(tasks);
+
+        return tasks;
+    }
+
+    private List<TaskDTO> loadByFilters(TaskFilterDTO filters) {
+        List<TaskDTO> tasks = taskBitmapIndex.findIds(filters)
+                .map(ids -> findByIds(ids, filters.getTitleCont()))
+                .orElseGet(() -> taskRepository.findCacheableDTOs(taskSpecification.build(filters)));
+        fillLabelIds(tasks);
+
+        return tasks;
+    }
+
+    private List<TaskDTO> findByIds(long[] ids, String titleCont) {
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (int from = 0; from < ids.length; from += ID_BATCH_SIZE) {
+            var batch = Arrays.stream(ids, from, Math.min(from + ID_BATCH_SIZE, ids.length))
+                    .boxed()
+                    .toList();
+            tasks.addAll(taskRepository.findDTOs(taskSpecification.byIds(batch, titleCont), null, null));
+        }
+        return tasks;
+    }
+
+    private void fillLabelIds(List<TaskDTO> tasks) {
+        Map<Long, TaskDTO> tasksById = new HashMap<>();
+        for (TaskDTO task : tasks) {
+            task.setTaskLabelIds(new HashSet<>());
+            tasksById.put(task.getId(), task);
+        }
+
+        List<Long> taskIds = new ArrayList<>(tasksById.keySet());
+        for (int from = 0; from < taskIds.size(); from += LABEL_BATCH_SIZE) {
+            var batch = taskIds.subList(from, Math.min(from + LABEL_BATCH_SIZE, taskIds.size()));
+            for (Object[] row : taskRepository.findLabelIdsByTaskIds(batch)) {
+                tasksById.get((Long) row[0]).getTaskLabelIds().add((Long) row[1]);
+            }
+        }
+    }
+}
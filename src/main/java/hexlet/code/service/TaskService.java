@@ -1,48 +1,58 @@
 package hexlet.code.service;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
-import hexlet.code.dto.TaskFilterDTO;
 import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.exception.PreconditionFailedException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
-import hexlet.code.model.TaskStatus;
+import hexlet.code.model.TaskTombstone;
 import hexlet.code.model.User;
-import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
-import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.TaskTombstoneRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.ETagUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final TaskRepository taskRepository;
 
     private final UserRepository userRepository;
 
-    private final TaskStatusRepository taskStatusRepository;
+    private final ReferenceDataCache referenceDataCache;
 
-    private final LabelRepository labelRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
 
     private final TaskMapper taskMapper;
 
     public TaskService(
             TaskRepository taskRepository,
             UserRepository userRepository,
-            TaskStatusRepository taskStatusRepository,
-            LabelRepository labelRepository,
+            ReferenceDataCache referenceDataCache,
+            TaskTombstoneRepository taskTombstoneRepository,
             TaskMapper taskMapper) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
-        this.taskStatusRepository = taskStatusRepository;
-        this.labelRepository = labelRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.taskTombstoneRepository = taskTombstoneRepository;
         this.taskMapper = taskMapper;
     }
 
@@ -52,33 +62,21 @@ public class TaskService {
                 .toList();
     }
 
-    public List<TaskDTO> findByFilters(TaskFilterDTO filters) {
-        List<Task> tasks;
-
-        tasks = taskRepository.findByFilters(
-                filters.getTitleCont(),
-                filters.getAssigneeId(),
-                filters.getStatus(),
-                filters.getLabelId()
-        );
-
-        return tasks.stream()
-                .map(taskMapper::map)
-                .toList();
-
-    }
-
     public TaskDTO findById(Long id) {
         return taskMapper.map(findTaskById(id));
     }
 
+    public String getETag(Long id) {
+        return taskRepository.findVersionById(id)
+                .map(version -> ETagUtils.of(id, version))
+                .orElseThrow(() -> new ResourceNotFoundException("Task with id " + id + " not found"));
+    }
+
+    @Transactional
     public TaskDTO create(TaskCreateDTO taskData) {
         Task task = taskMapper.map(taskData);
 
-        TaskStatus status = taskStatusRepository.findBySlug(taskData.getStatus())
-                .orElseThrow(() -> new ResourceNotFoundException("TaskStatus with slug "
-                        + taskData.getStatus() + " not found"));
-        task.setTaskStatus(status);
+        task.setTaskStatus(referenceDataCache.getStatusReference(taskData.getStatus()));
 
         if (taskData.getAssigneeId() != null) {
             User assignee = userRepository.findById(taskData.getAssigneeId())
@@ -88,29 +86,65 @@ public class TaskService {
         }
 
         if (taskData.getTaskLabelIds() != null && !taskData.getTaskLabelIds().isEmpty()) {
-            Set<Label> labels = new HashSet<>();
-            for (Long labelId : taskData.getTaskLabelIds()) {
-                Label label = labelRepository.findById(labelId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Label with id " + labelId + " not found"));
-                labels.add(label);
-            }
-            task.setLabels(labels);
+            task.setLabels(referenceDataCache.getLabels(taskData.getTaskLabelIds()));
         }
 
-        Task savedTask = taskRepository.save(task);
+        Task savedTask = referenceDataCache.writeWithStatuses(List.of(taskData.getStatus()),
+                () -> taskRepository.saveAndFlush(task));
 
         return taskMapper.map(taskRepository.findById(savedTask.getId()).get());
     }
 
-    public TaskDTO update(TaskUpdateDTO taskData, Long id) {
+    @Transactional
+    public List<TaskDTO> createAll(List<TaskCreateDTO> tasksData) {
+        Set<Long> assigneeIds = collect(tasksData, dto -> Stream.ofNullable(dto.getAssigneeId()));
+        Set<Long> labelIds = collect(tasksData, dto -> Stream.ofNullable(dto.getTaskLabelIds()).flatMap(Set::stream));
+
+        Map<Long, User> assignees = userRepository.findAllById(assigneeIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Label> labels = referenceDataCache.getLabels(labelIds).stream()
+                .collect(Collectors.toMap(Label::getId, Function.identity()));
+
+        List<Task> tasks = new ArrayList<>(tasksData.size());
+        for (TaskCreateDTO taskData : tasksData) {
+            Task task = taskMapper.map(taskData);
+            task.setTaskStatus(referenceDataCache.getStatusReference(taskData.getStatus()));
+            if (taskData.getAssigneeId() != null) {
+                task.setAssignee(resolve(assignees, taskData.getAssigneeId(), "Assignee with id "));
+            }
+            if (taskData.getTaskLabelIds() != null) {
+                Set<Label> taskLabels = new HashSet<>();
+                for (Long labelId : taskData.getTaskLabelIds()) {
+                    taskLabels.add(resolve(labels, labelId, "Label with id "));
+                }
+                task.setLabels(taskLabels);
+            }
+            tasks.add(task);
+        }
+
+        referenceDataCache.writeWithStatuses(collect(tasksData, dto -> Stream.of(dto.getStatus())), () -> {
+            taskRepository.saveAll(tasks);
+            taskRepository.flush();
+            return tasks;
+        });
+
+        return tasks.stream()
+                .map(taskMapper::map)
+                .toList();
+    }
+
+    @Transactional
+    public TaskDTO update(TaskUpdateDTO taskData, Long id, String ifMatch) {
         Task task = findTaskById(id);
+        if (ifMatch != null && !ETagUtils.matches(ifMatch, ETagUtils.of(id, shownVersion(task)))) {
+            throw new PreconditionFailedException("Task with id " + id + " has been modified since it was read");
+        }
         taskMapper.update(taskData, task);
 
+        List<String> statusSlugs = new ArrayList<>();
         if (taskData.getStatus() != null && taskData.getStatus().isPresent()) {
-            TaskStatus status = taskStatusRepository.findBySlug(taskData.getStatus().get())
-                    .orElseThrow(() -> new ResourceNotFoundException("TaskStatus with slug "
-                            + taskData.getStatus().get() + " not found"));
-            task.setTaskStatus(status);
+            statusSlugs.add(taskData.getStatus().get());
+            task.setTaskStatus(referenceDataCache.getStatusReference(taskData.getStatus().get()));
         }
 
         if (taskData.getAssigneeId() != null && taskData.getAssigneeId().isPresent()) {
@@ -126,26 +160,44 @@ public class TaskService {
         }
 
         if (taskData.getTaskLabelIds() != null) {
-            Set<Label> labels = new HashSet<>();
-
-            if (taskData.getTaskLabelIds().isPresent()) {
-                Set<Long> labelIds = taskData.getTaskLabelIds().get();
-                for (Long labelId : labelIds) {
-                    Label label = labelRepository.findById(labelId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Label with id "
-                                    + labelId + " not found"));
-                    labels.add(label);
-                }
-            }
-            task.setLabels(labels);
+            Set<Long> labelIds = taskData.getTaskLabelIds().orElse(null);
+            task.setLabels(labelIds == null ? new HashSet<>() : referenceDataCache.getLabels(labelIds));
         }
 
-        Task updatedTask = taskRepository.save(task);
-        return taskMapper.map(taskRepository.findById(updatedTask.getId()).get());
+        Task updatedTask = referenceDataCache.writeWithStatuses(statusSlugs,
+                () -> taskRepository.saveAndFlush(task));
+        var reloaded = taskRepository.findById(updatedTask.getId()).get();
+        var dto = taskMapper.map(reloaded);
+        dto.setVersion(shownVersion(reloaded));
+        return dto;
     }
 
+    @Transactional
     public void delete(Long id) {
-        taskRepository.deleteById(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            taskRepository.delete(task);
+            taskTombstoneRepository.save(new TaskTombstone(id, Instant.now()));
+        });
+    }
+
+    // The version the task's ETag is built from, matching TaskRepository.findVersionById.
+    private static long shownVersion(Task task) {
+        var status = task.getTaskStatus();
+        return task.getVersion() + (status == null || status.getVersion() == null ? 0 : status.getVersion());
+    }
+
+    private static <T> Set<T> collect(List<TaskCreateDTO> tasksData, Function<TaskCreateDTO, Stream<T>> values) {
+        return tasksData.stream()
+                .flatMap(values)
+                .collect(Collectors.toSet());
+    }
+
+    private static <K, V> V resolve(Map<K, V> values, K key, String description) {
+        V value = values.get(key);
+        if (value == null) {
+            throw new ResourceNotFoundException(description + key + " not found");
+        }
+        return value;
     }
 
     private Task findTaskById(Long id) {
@@ -1,17 +1,24 @@
 package hexlet.code.service;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatusDTO;
 import hexlet.code.dto.TaskStatusUpdateDTO;
+import hexlet.code.event.TaskStatusChangedEvent;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskStatusMapper;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.utils.ETagUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class TaskStatusService {
@@ -22,18 +29,27 @@ public class TaskStatusService {
 
     private final TaskStatusMapper taskStatusMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReferenceDataCache referenceDataCache;
+
     public TaskStatusService(
             TaskStatusRepository taskStatusRepository,
             TaskRepository taskRepository,
-            TaskStatusMapper taskStatusMapper) {
+            TaskStatusMapper taskStatusMapper,
+            ApplicationEventPublisher eventPublisher,
+            ReferenceDataCache referenceDataCache) {
         this.taskStatusRepository = taskStatusRepository;
         this.taskRepository = taskRepository;
         this.taskStatusMapper = taskStatusMapper;
+        this.eventPublisher = eventPublisher;
+        this.referenceDataCache = referenceDataCache;
     }
 
     public TaskStatusDTO create(TaskStatusCreateDTO taskStatusData) {
-        var taskStatus = taskStatusMapper.map(taskStatusData);
-        return taskStatusMapper.map(taskStatusRepository.save(taskStatus));
+        var taskStatus = taskStatusRepository.save(taskStatusMapper.map(taskStatusData));
+        eventPublisher.publishEvent(new TaskStatusChangedEvent(taskStatus.getId(), null, taskStatus.getSlug()));
+        return taskStatusMapper.map(taskStatus);
     }
 
     public List<TaskStatusDTO> findAll() {
@@ -46,22 +62,43 @@ public class TaskStatusService {
         return taskStatusMapper.map(findTaskStatusById(id));
     }
 
+    public String getETag(Long id) {
+        return taskStatusRepository.findVersionById(id)
+                .map(version -> ETagUtils.of(id, version))
+                .orElseThrow(() -> new ResourceNotFoundException("TaskStatus with id " + id + " not found"));
+    }
+
+    public String getListETag() {
+        return ETagUtils.of(taskStatusRepository.summarizeVersions());
+    }
+
+    @Transactional
     public TaskStatusDTO update(TaskStatusUpdateDTO taskStatusData, Long id) {
         var taskStatus = findTaskStatusById(id);
+        String oldSlug = taskStatus.getSlug();
         taskStatusMapper.update(taskStatusData, taskStatus);
 
-        return taskStatusMapper.map(taskStatusRepository.save(taskStatus));
+        var updated = taskStatusRepository.save(taskStatus);
+        if (!Objects.equals(oldSlug, updated.getSlug())) {
+            // Tasks show the slug, so a rename has to reach clients syncing through /api/tasks/changes.
+            taskRepository.touchByTaskStatusId(id, Instant.now());
+        }
+        eventPublisher.publishEvent(new TaskStatusChangedEvent(id, oldSlug, updated.getSlug()));
+        return taskStatusMapper.map(updated);
     }
 
     public boolean taskStatusExists(String slug) {
-        return taskStatusRepository.findBySlug(slug).isPresent();
+        return referenceDataCache.statusExists(slug);
     }
 
     public void delete(Long id) {
         if (taskRepository.findByTaskStatusId(id).isPresent()) {
             throw new DataIntegrityViolationException("Status is used by a task and cannot be deleted.");
         }
-        taskStatusRepository.deleteById(id);
+        taskStatusRepository.findById(id).ifPresent(taskStatus -> {
+            taskStatusRepository.delete(taskStatus);
+            eventPublisher.publishEvent(new TaskStatusChangedEvent(id, taskStatus.getSlug(), null));
+        });
     }
 
     private TaskStatus findTaskStatusById(Long id) {
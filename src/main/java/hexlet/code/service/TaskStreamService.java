@@ -0,0 +1,387 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.TaskFilterKey;
+import hexlet.code.component.TaskStreamProperties;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TaskStatusChangedEvent;
+import hexlet.code.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Pushes committed task changes to Server-Sent Events subscribers.
+ * An idle subscriber holds no thread: the request is async and a virtual thread only runs while the subscriber
+ * has something buffered. Changed tasks are loaded and serialized by the thread that committed them, and a single
+ * dispatcher applies them in order; it only matches filters and fills buffers, so a slow client never holds up
+ * the others. The dispatcher queue is bounded: when it fills up, the queued changes are dropped and every
+ * subscriber gets a resync instead. A buffer keeps the latest event per task, and a
+ * subscriber that falls more than bufferSize tasks behind gets one resync event instead of the backlog.
+ * To tell a client that a task stopped matching, a subscriber remembers up to maxMembers ids it shows; past
+ * that it forgets them and sends a removed event for every non-matching change, which the client ignores
+ * for tasks it does not show.
+ */
+@Slf4j
+@Service
+public class TaskStreamService {
+
+    private static final String TASK = "task";
+
+    private static final String REMOVED = "removed";
+
+    private static final String DELETED = "deleted";
+
+    private static final String RESYNC = "resync";
+
+    private final TaskQueryService taskQueryService;
+
+    private final TaskStreamProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final BlockingQueue<Runnable> dispatchQueue;
+
+    private final ThreadPoolExecutor dispatcher;
+
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("task-stream-", 0).factory());
+
+    private final Counter resyncs;
+
+    public TaskStreamService(
+            TaskQueryService taskQueryService,
+            TaskStreamProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.taskQueryService = taskQueryService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.dispatchQueue = new ArrayBlockingQueue<>(properties.getDispatchQueueSize());
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, dispatchQueue,
+                Thread.ofPlatform().name("task-stream-dispatcher").daemon().factory(),
+                (task, executor) -> dispatchOverflowed());
+        this.dispatcher.prestartAllCoreThreads();
+        this.resyncs = Counter.builder("tasks.stream.resyncs")
+                .description("Subscribers told to reload because their buffer overflowed or a status was renamed")
+                .register(meterRegistry);
+
+        Gauge.builder("tasks.stream.subscribers", subscribers, Set::size)
+                .description("Open task stream connections")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(TaskFilterDTO filter) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ServiceUnavailableException("Too many task stream subscribers", properties.getHeartbeat());
+        }
+
+        var key = TaskFilterKey.of(filter);
+        var emitter = new SseEmitter(properties.getTimeout().toMillis());
+        var subscriber = new Subscriber(emitter, key);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Registered before the snapshot is read, so a change committed in between is still delivered.
+        subscribers.add(subscriber);
+
+        if (!key.matchesAll()) {
+            List<Long> ids;
+            try {
+                ids = taskQueryService.findIds(filter, properties.getMaxMembers() + 1);
+            } catch (RuntimeException e) {
+                subscribers.remove(subscriber);
+                throw e;
+            }
+            dispatcher.execute(() -> subscriber.snapshot(ids));
+        }
+        subscriber.heartbeat();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (event.isDeleted()) {
+            dispatcher.execute(() -> subscribers.forEach(subscriber -> subscriber.deleted(event.taskId())));
+            return;
+        }
+
+        var task = event.task();
+        if (task.getStatus() == null || task.getTaskLabelIds() == null) {
+            var reloaded = taskQueryService.findByIds(List.of(event.taskId()));
+            if (reloaded.isEmpty()) {
+                return;
+            }
+            task = reloaded.get(0);
+        }
+
+        var shown = task;
+        var json = toJson(shown);
+        dispatcher.execute(() -> subscribers.forEach(subscriber -> subscriber.changed(shown, json)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskStatusChanged(TaskStatusChangedEvent event) {
+        // A status in use cannot be deleted, so only a rename changes tasks that clients already show.
+        if (subscribers.isEmpty() || event.oldSlug() == null || event.newSlug() == null
+                || event.oldSlug().equals(event.newSlug())) {
+            return;
+        }
+        dispatcher.execute(() -> subscribers.stream()
+                .filter(subscriber -> subscriber.key.statuses().isEmpty()
+                        || subscriber.key.statuses().contains(event.oldSlug()))
+                .forEach(Subscriber::resync));
+    }
+
+    @Scheduled(fixedDelayString = "${task-stream.heartbeat}")
+    public void sendHeartbeats() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /*
+     * Drops everything queued rather than just the newest change, so the resync that replaces them is delivered
+     * after any change it covers. Subscribers stop tracking members too, since the dropped changes may have
+     * moved tasks in or out of their filters.
+     */
+    private void dispatchOverflowed() {
+        if (dispatcher.isShutdown()) {
+            return;
+        }
+        Runnable resyncAll = () -> subscribers.forEach(subscriber -> {
+            subscriber.forgetMembers();
+            subscriber.resync();
+        });
+        do {
+            dispatchQueue.clear();
+        } while (!dispatchQueue.offer(resyncAll));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(String name, String json) {
+        return SseEmitter.event().name(name).data(json);
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final TaskFilterKey key;
+
+        // The rest of the membership state is only touched by the dispatcher thread.
+        private boolean tracking;
+
+        // Ids the client shows; null until the snapshot arrives and when not tracking.
+        private Set<Long> members;
+
+        // Changes seen before the snapshot arrived: whether each task matched, the latest change winning.
+        private Map<Long, Boolean> pending;
+
+        private final Lock lock = new ReentrantLock();
+
+        private final Map<Long, SseEmitter.SseEventBuilder> buffer = new LinkedHashMap<>();
+
+        private boolean overflowed;
+
+        private boolean heartbeatDue;
+
+        private boolean draining;
+
+        private Subscriber(SseEmitter emitter, TaskFilterKey key) {
+            this.emitter = emitter;
+            this.key = key;
+            // A filter that matches every task never has one stop matching, so there is nothing to remember.
+            this.tracking = !key.matchesAll();
+            this.pending = tracking ? new HashMap<>() : null;
+        }
+
+        private void snapshot(List<Long> ids) {
+            if (!tracking) {
+                return;
+            }
+            members = new HashSet<>(ids);
+            pending.forEach((taskId, matches) -> {
+                if (matches) {
+                    members.add(taskId);
+                } else {
+                    members.remove(taskId);
+                }
+            });
+            pending = null;
+            checkMembers(members.size());
+        }
+
+        private void changed(TaskDTO task, String json) {
+            Long taskId = task.getId();
+            if (key.matches(task)) {
+                if (members != null) {
+                    members.add(taskId);
+                    checkMembers(members.size());
+                } else if (pending != null) {
+                    pending.put(taskId, true);
+                    checkMembers(pending.size());
+                }
+                offer(taskId, event(TASK, json));
+            } else if (mayShow(taskId)) {
+                offer(taskId, event(REMOVED, toJson(Map.of("id", taskId))));
+            }
+        }
+
+        private void deleted(Long taskId) {
+            if (mayShow(taskId)) {
+                offer(taskId, event(DELETED, toJson(Map.of("id", taskId))));
+            }
+        }
+
+        // Forgets the task and tells whether the client may have been showing it.
+        private boolean mayShow(Long taskId) {
+            if (members != null) {
+                return members.remove(taskId);
+            }
+            if (pending != null) {
+                pending.put(taskId, false);
+                checkMembers(pending.size());
+            }
+            return true;
+        }
+
+        private void checkMembers(int size) {
+            if (size > properties.getMaxMembers()) {
+                forgetMembers();
+            }
+        }
+
+        private void forgetMembers() {
+            tracking = false;
+            members = null;
+            pending = null;
+        }
+
+        private void offer(Long taskId, SseEmitter.SseEventBuilder event) {
+            lock.lock();
+            try {
+                if (overflowed) {
+                    return;
+                }
+                buffer.put(taskId, event);
+                if (buffer.size() > properties.getBufferSize()) {
+                    buffer.clear();
+                    overflowed = true;
+                    resyncs.increment();
+                }
+                startDrain();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void resync() {
+            lock.lock();
+            try {
+                buffer.clear();
+                overflowed = true;
+                resyncs.increment();
+                startDrain();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void heartbeat() {
+            lock.lock();
+            try {
+                heartbeatDue = true;
+                startDrain();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void startDrain() {
+            if (!draining) {
+                draining = true;
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<SseEmitter.SseEventBuilder> events;
+                lock.lock();
+                try {
+                    if (overflowed) {
+                        events = List.of(event(RESYNC, "{}"));
+                        overflowed = false;
+                    } else if (!buffer.isEmpty()) {
+                        events = new ArrayList<>(buffer.values());
+                        buffer.clear();
+                    } else if (heartbeatDue) {
+                        events = List.of(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        draining = false;
+                        return;
+                    }
+                    heartbeatDue = false;
+                } finally {
+                    lock.unlock();
+                }
+
+                try {
+                    for (var event : events) {
+                        emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client is gone or the emitter timed out; draining stays set so nothing is sent again.
+                    log.debug("Dropping task stream subscriber: {}", e.getMessage());
+                    subscribers.remove(this);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package hexlet.code.service;
 
+import hexlet.code.component.CredentialCache;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.UserUpdateDTO;
@@ -11,6 +12,8 @@ import hexlet.code.repository.UserRepository;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
@@ -25,15 +28,27 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final CredentialCache credentialCache;
+
+    private final RefreshTokenService refreshTokenService;
+
+    private final TransactionTemplate transaction;
+
     public UserService(
             UserRepository userRepository,
             TaskRepository taskRepository,
             UserMapper userMapper,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            CredentialCache credentialCache,
+            RefreshTokenService refreshTokenService,
+            PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.taskRepository = taskRepository;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
+        this.credentialCache = credentialCache;
+        this.refreshTokenService = refreshTokenService;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     public UserDTO create(UserCreateDTO userData) {
@@ -50,44 +65,57 @@ public class UserService {
                 .toList();
     }
 
+    // A missing user is reported as 404 before any 403, as it was when the lookup came first.
+    public void checkExists(Long id) {
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User with id " + id + " not found");
+        }
+    }
+
     public UserDTO findById(Long id) {
         return userMapper.map(findUserById(id));
     }
 
+    /*
+     * Refresh tokens are revoked after the new digest is flushed and in the same transaction, so a token cannot
+     * be revoked for a password change that then fails to commit. The password is hashed before the transaction
+     * so the slow part holds no connection, and cached credentials are dropped only once the change is committed.
+     */
     public UserDTO update(UserUpdateDTO userData, Long id) {
-        User user = findUserById(id);
-
+        String hashedPassword = null;
         if (userData.getPassword() != null && userData.getPassword().isPresent()) {
-            var newPassword = userData.getPassword().get();
-            var hashedPassword = passwordEncoder.encode(newPassword);
-            user.setPasswordDigest(hashedPassword);
+            hashedPassword = passwordEncoder.encode(userData.getPassword().get());
         }
-        userMapper.update(userData, user);
-
-        return userMapper.map(userRepository.save(user));
+        var passwordDigest = hashedPassword;
+
+        var updated = transaction.execute(status -> {
+            User user = findUserById(id);
+            userMapper.update(userData, user);
+            if (passwordDigest != null) {
+                user.setPasswordDigest(passwordDigest);
+            }
+            var saved = userRepository.saveAndFlush(user);
+            if (passwordDigest != null) {
+                refreshTokenService.revokeAll(id);
+            }
+            return userMapper.map(saved);
+        });
+        credentialCache.invalidate(id);
+
+        return updated;
     }
 
     public void delete(Long id) {
         if (taskRepository.findByAssigneeId(id).isPresent()) {
             throw new DataIntegrityViolationException("User is assigned to a task and cannot be deleted.");
         }
-        userRepository.deleteById(id);
+        userRepository.delete(findUserById(id));
+        credentialCache.invalidate(id);
+        refreshTokenService.revokeAll(id);
     }
 
     private User findUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User with id " + id + " not found"));
     }
-
-    public UserDTO findUserByEmail(String email) {
-        return userMapper.map(findByEmail(email));
-    }
-
-    public boolean isAdmin(String email)  {
-        return findByEmail(email).getIsAdmin();
-    }
-    private User findByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User with email " + email + " not found"));
-    }
 }
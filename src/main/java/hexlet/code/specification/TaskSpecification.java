@@ -0,0 +1,96 @@
+package hexlet.code.specification;
+
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.utils.SearchUtils;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class TaskSpecification {
+
+    public Specification<Task> build(TaskFilterDTO filter) {
+        List<Specification<Task>> specs = new ArrayList<>();
+
+        if (filter.getTitleCont() != null) {
+            specs.add(withTitleCont(filter.getTitleCont()));
+        }
+        if (isPresent(filter.getAssigneeId())) {
+            specs.add(withAssigneeIds(filter.getAssigneeId()));
+        }
+        if (isPresent(filter.getStatus())) {
+            specs.add(withStatuses(filter.getStatus()));
+        }
+        if (isPresent(filter.getLabelId())) {
+            specs.add(filter.isMatchAllLabels()
+                    ? withAllLabels(filter.getLabelId())
+                    : withAnyLabel(filter.getLabelId()));
+        }
+
+        return Specification.allOf(specs);
+    }
+
+    public Specification<Task> byIds(Collection<Long> ids, String titleCont) {
+        Specification<Task> byIds = (root, query, cb) -> root.get("id").in(ids);
+        return titleCont == null ? byIds : byIds.and(withTitleCont(titleCont));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Join<Task, TaskStatus> statusJoin(Root<Task> root) {
+        for (Join<Task, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("taskStatus")) {
+                return (Join<Task, TaskStatus>) join;
+            }
+        }
+        return root.join("taskStatus", JoinType.LEFT);
+    }
+
+    private Specification<Task> withTitleCont(String titleCont) {
+        return (root, query, cb) -> cb.like(
+                cb.lower(root.<String>get("name")), SearchUtils.containsPattern(titleCont), SearchUtils.LIKE_ESCAPE);
+    }
+
+    private Specification<Task> withAssigneeIds(Set<Long> assigneeIds) {
+        return (root, query, cb) -> in(root.get("assignee").get("id"), assigneeIds, cb);
+    }
+
+    private Specification<Task> withStatuses(Set<String> slugs) {
+        return (root, query, cb) -> in(statusJoin(root).get("slug"), slugs, cb);
+    }
+
+    private Specification<Task> withAnyLabel(Set<Long> labelIds) {
+        return (root, query, cb) -> {
+            var subquery = query.subquery(Long.class);
+            Join<Task, Label> label = subquery.correlate(root).join("labels");
+            subquery.select(label.<Long>get("id")).where(in(label.get("id"), labelIds, cb));
+            return cb.exists(subquery);
+        };
+    }
+
+    private Specification<Task> withAllLabels(Set<Long> labelIds) {
+        return Specification.allOf(labelIds.stream()
+                .map(labelId -> withAnyLabel(Set.of(labelId)))
+                .toList());
+    }
+
+    private static Predicate in(Path<?> path, Collection<?> values, CriteriaBuilder cb) {
+        return values.size() == 1 ? cb.equal(path, values.iterator().next()) : path.in(values);
+    }
+
+    private static boolean isPresent(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+}
@@ -0,0 +1,41 @@
+package hexlet.code.utils;
+
+import hexlet.code.dto.ChangePositionDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+public final class ChangeTokenUtils {
+
+    private static final String PREFIX = "c1:";
+
+    private ChangeTokenUtils() {
+    }
+
+    public static String encode(ChangePositionDTO position) {
+        var at = position.getAt();
+        var raw = PREFIX + at.getEpochSecond() + ":" + at.getNano() + ":" + position.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangePositionDTO decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed change token", e);
+        }
+        var parts = raw.startsWith(PREFIX) ? raw.substring(PREFIX.length()).split(":") : new String[0];
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed change token");
+        }
+        try {
+            var at = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new ChangePositionDTO(Long.valueOf(parts[2]), at);
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("Malformed change token", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package hexlet.code.utils;
+
+import hexlet.code.model.User;
+
+public record CurrentUser(Long id, String email, boolean admin) {
+
+    public static CurrentUser of(User user) {
+        return new CurrentUser(user.getId(), user.getEmail(), Boolean.TRUE.equals(user.getIsAdmin()));
+    }
+
+    public boolean canManage(Long userId) {
+        return admin || id.equals(userId);
+    }
+}
@@ -0,0 +1,61 @@
+package hexlet.code.utils;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.VersionSummaryDTO;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+public final class ETagUtils {
+
+    private static final int TASKS_ETAG_BYTES = 16;
+
+    private ETagUtils() {
+    }
+
+    public static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    public static boolean matches(String ifMatch, String eTag) {
+        for (String candidate : ifMatch.split(",")) {
+            var tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Every write raises a version, and inserts or deletes change the count or the id sum.
+    public static String of(VersionSummaryDTO summary) {
+        return "\"" + Long.toHexString(summary.getCount())
+                + "-" + Long.toHexString(summary.getIdSum())
+                + "-" + Long.toHexString(summary.getVersionSum()) + "\"";
+    }
+
+    /*
+     * Hashes the (id, version) pairs of the tasks a response is built from, plus the values of its paging headers,
+     * so it costs no query of its own and covers exactly the rows that were sent.
+     */
+    public static String ofTasks(List<TaskDTO> tasks, Long nextAfterId, Long totalCount) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            var buffer = ByteBuffer.allocate(2 * Long.BYTES);
+            for (TaskDTO task : tasks) {
+                buffer.clear();
+                buffer.putLong(task.getId()).putLong(task.getVersion() == null ? 0L : task.getVersion());
+                digest.update(buffer.array());
+            }
+            buffer.clear();
+            buffer.putLong(nextAfterId == null ? -1L : nextAfterId).putLong(totalCount == null ? -1L : totalCount);
+            digest.update(buffer.array());
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, TASKS_ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package hexlet.code.utils;
+
+import java.util.Locale;
+
+public final class SearchUtils {
+
+    public static final char LIKE_ESCAPE = '!';
+
+    private SearchUtils() {
+    }
+
+    public static String containsPattern(String term) {
+        if (term == null) {
+            return null;
+        }
+        var pattern = new StringBuilder(term.length() + 2).append('%');
+        for (char c : term.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
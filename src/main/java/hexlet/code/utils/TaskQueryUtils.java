@@ -0,0 +1,53 @@
+package hexlet.code.utils;
+
+import hexlet.code.dto.TaskFilterDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Set;
+
+/*
+ * Query parameter handling shared by the MVC task endpoints and the reactive read API, so both accept the
+ * same filters and cursors and reject bad ones with the same 400.
+ */
+public final class TaskQueryUtils {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    public static final String LABEL_MATCH_ANY = "any";
+
+    private static final String LABEL_MATCH_ALL = "all";
+
+    private TaskQueryUtils() {
+    }
+
+    public static TaskFilterDTO toFilter(
+            String titleCont,
+            Set<Long> assigneeId,
+            Set<String> status,
+            Set<Long> labelId,
+            String labelMatch) {
+        if (!LABEL_MATCH_ANY.equalsIgnoreCase(labelMatch) && !LABEL_MATCH_ALL.equalsIgnoreCase(labelMatch)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "labelMatch must be 'any' or 'all'");
+        }
+
+        TaskFilterDTO filter = new TaskFilterDTO();
+        filter.setTitleCont(titleCont);
+        filter.setAssigneeId(assigneeId);
+        filter.setStatus(status);
+        filter.setLabelId(labelId);
+        filter.setMatchAllLabels(LABEL_MATCH_ALL.equalsIgnoreCase(labelMatch));
+        return filter;
+    }
+
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return CursorUtils.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package hexlet.code.utils;
 
+import hexlet.code.config.JWTUtils;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -16,12 +18,33 @@ public class UserUtils {
     }
 
     public User getCurrentUser() {
+        var currentUser = getCurrentPrincipal();
+        if (currentUser == null) {
+            return null;
+        }
+        return userRepository.findById(currentUser.id())
+                .orElseThrow(() -> new UsernameNotFoundException("User with email " + currentUser.email()
+                        + " not found"));
+    }
+
+    public CurrentUser getCurrentPrincipal() {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return null;
         }
+        var principal = authentication.getPrincipal();
+        if (principal instanceof Jwt jwt && jwt.hasClaim(JWTUtils.UID_CLAIM)) {
+            Number id = jwt.getClaim(JWTUtils.UID_CLAIM);
+            return new CurrentUser(id.longValue(), jwt.getSubject(),
+                    Boolean.TRUE.equals(jwt.getClaimAsBoolean(JWTUtils.ADMIN_CLAIM)));
+        }
+        if (principal instanceof User user) {
+            return CurrentUser.of(user);
+        }
+        // Tokens issued before the uid claim was added.
         String email = authentication.getName();
         return userRepository.findByEmail(email)
+                .map(CurrentUser::of)
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + email + " not found"));
     }
 }
@@ -0,0 +1,72 @@
+package hexlet.code;
+
+import hexlet.code.component.CredentialCache;
+import hexlet.code.component.CredentialCacheProperties;
+import hexlet.code.config.CachingAuthenticationProvider;
+import hexlet.code.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingAuthenticationProviderTest {
+
+    private static final ServiceUnavailableException POOL_FULL =
+            new ServiceUnavailableException("Password hashing is overloaded", Duration.ofSeconds(1));
+
+    private final CredentialCache credentialCache =
+            new CredentialCache(new CredentialCacheProperties(), new SimpleMeterRegistry());
+
+    @Test
+    public void testWrappedOverloadIsRethrown() {
+        AuthenticationProvider delegate = new AuthenticationProvider() {
+            @Override
+            public Authentication authenticate(Authentication authentication) {
+                throw new InternalAuthenticationServiceException(POOL_FULL.getMessage(), POOL_FULL);
+            }
+
+            @Override
+            public boolean supports(Class<?> authentication) {
+                return true;
+            }
+        };
+        var provider = new CachingAuthenticationProvider(delegate, credentialCache);
+
+        assertThatThrownBy(() -> provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("user@example.com", "password")))
+                .isSameAs(POOL_FULL);
+    }
+
+    @Test
+    public void testUnknownUserDuringOverloadIsServiceUnavailable() {
+        var dao = new DaoAuthenticationProvider();
+        dao.setUserDetailsService(username -> {
+            throw new UsernameNotFoundException("User not found");
+        });
+        dao.setPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw POOL_FULL;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw POOL_FULL;
+            }
+        });
+        var provider = new CachingAuthenticationProvider(dao, credentialCache);
+
+        assertThatThrownBy(() -> provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("nobody@example.com", "password")))
+                .isSameAs(POOL_FULL);
+    }
+}
@@ -0,0 +1,66 @@
+package hexlet.code;
+
+import hexlet.code.config.CachingJwtDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingJwtDecoderTest {
+
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    private JwtDecoder decoder(Instant expiresAt) {
+        JwtDecoder delegate = token -> {
+            decodes.incrementAndGet();
+            if (token.startsWith("bad")) {
+                throw new BadJwtException("bad token");
+            }
+            var builder = Jwt.withTokenValue(token).header("alg", "RS256").subject("user@example.com");
+            return expiresAt == null ? builder.build() : builder.expiresAt(expiresAt).build();
+        };
+        return new CachingJwtDecoder(delegate, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testRepeatedTokenIsVerifiedOnce() {
+        var decoder = decoder(Instant.now().plusSeconds(60));
+
+        var first = decoder.decode("token-1");
+        var second = decoder.decode("token-1");
+        decoder.decode("token-2");
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    public void testExpiredAndUnboundedTokensAreNotKept() {
+        var expired = decoder(Instant.now().minusSeconds(1));
+        expired.decode("token");
+        expired.decode("token");
+        assertThat(decodes).hasValue(2);
+
+        decodes.set(0);
+        var unbounded = decoder(null);
+        unbounded.decode("token");
+        unbounded.decode("token");
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    public void testFailuresAreNotCached() {
+        var decoder = decoder(Instant.now().plusSeconds(60));
+
+        assertThatThrownBy(() -> decoder.decode("bad-token")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("bad-token")).isInstanceOf(BadJwtException.class);
+        assertThat(decodes).hasValue(2);
+    }
+}
@@ -0,0 +1,38 @@
+package hexlet.code;
+
+import hexlet.code.handler.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.net.ConnectException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    public void testPoolTimeoutIsServiceUnavailable() {
+        var timeout = new SQLTransientConnectionException("HikariPool-1 - Connection is not available");
+        var response = handler.handleDatabaseUnavailable(
+                new CannotCreateTransactionException("Could not open JPA EntityManager", timeout));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    public void testDatabaseDownIsNotReportedAsBusy() {
+        var timeout = new SQLTransientConnectionException("HikariPool-1 - Connection is not available",
+                new ConnectException("Connection refused"));
+        var down = new DataAccessResourceFailureException("Unable to acquire JDBC Connection", timeout);
+
+        assertThatThrownBy(() -> handler.handleDatabaseUnavailable(down)).isSameAs(down);
+    }
+}
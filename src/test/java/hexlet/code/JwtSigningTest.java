@@ -0,0 +1,105 @@
+package hexlet.code;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import hexlet.code.component.RsaKeyProperties;
+import hexlet.code.config.JWTUtils;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.sql.SqlBudgetExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "jwt-signing.algorithm=ES256",
+    "ec.private-key=classpath:certs/ec-private.pem",
+    "ec.public-key=classpath:certs/ec-public.pem"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ExtendWith(SqlBudgetExtension.class)
+public class JwtSigningTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JWTUtils jwtUtils;
+    @Autowired
+    private RsaKeyProperties rsaKeys;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        user = new User();
+        user.setEmail("signer@example.com");
+        user.setPasswordDigest("password");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testTokensAreSignedWithTheConfiguredKey() throws Exception {
+        var token = jwtUtils.generateToken(user);
+
+        var header = SignedJWT.parse(token).getHeader();
+        assertThat(header.getAlgorithm()).isEqualTo(JWSAlgorithm.ES256);
+        assertThat(header.getKeyID()).isEqualTo("ec-1");
+
+        mockMvc.perform(get("/api/users/" + user.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testRsaTokensStillVerifyAfterSwitchingToEc() throws Exception {
+        mockMvc.perform(get("/api/users/" + user.getId()).header("Authorization", "Bearer " + rsaToken("rsa-1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/" + user.getId()).header("Authorization", "Bearer " + rsaToken(null)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/" + user.getId()).header("Authorization", "Bearer " + rsaToken("ec-1")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String rsaToken(String keyId) {
+        var jwk = new RSAKey.Builder(rsaKeys.getPublicKey())
+                .privateKey(rsaKeys.getPrivateKey())
+                .keyID(keyId)
+                .build();
+        var now = Instant.now();
+        var claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                .subject(user.getEmail())
+                .build();
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)))
+                .encode(JwtEncoderParameters.from(claims))
+                .getTokenValue();
+    }
+}
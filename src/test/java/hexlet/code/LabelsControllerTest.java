@@ -13,9 +13,12 @@ import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.service.TaskService;
+import hexlet.code.sql.SqlBudgetExtension;
+import hexlet.code.sql.SqlStatistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -36,6 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@ExtendWith(SqlBudgetExtension.class)
 public class LabelsControllerTest {
 
     @Autowired
@@ -88,8 +92,10 @@ public class LabelsControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(om.writeValueAsString(dto));
 
+        SqlStatistics.reset();
         mockMvc.perform(request)
                 .andExpect(status().isCreated());
+        SqlStatistics.assertMaxQueries(1);
 
         assertThat(labelRepository.findByName("fix")).isPresent();
     }
@@ -117,8 +123,10 @@ public class LabelsControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(om.writeValueAsString(dto));
 
+        SqlStatistics.reset();
         mockMvc.perform(request)
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(2);
 
         var updatedLabel = labelRepository.findById(testLabel.getId()).get();
         assertThat(updatedLabel.getName()).isEqualTo("updated feature");
@@ -126,22 +134,53 @@ public class LabelsControllerTest {
 
     @Test
     public void testGetAllLabels() throws Exception {
+        SqlStatistics.reset();
         mockMvc.perform(get("/api/labels").header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(2);
     }
 
     @Test
     public void testGetLabelById() throws Exception {
+        SqlStatistics.reset();
         mockMvc.perform(get("/api/labels/"
                         + testLabel.getId()).header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(2);
+    }
+
+    @Test
+    public void testGetLabelsNotModified() throws Exception {
+        var eTag = mockMvc.perform(get("/api/labels").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/labels")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        LabelUpdateDTO dto = new LabelUpdateDTO();
+        dto.setName(JsonNullable.of("renamed label"));
+        mockMvc.perform(put("/api/labels/" + testLabel.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/labels")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk());
     }
 
     @Test
     public void testDeleteLabel() throws Exception {
+        SqlStatistics.reset();
         mockMvc.perform(delete("/api/labels/"
                         + testLabel.getId()).header("Authorization", "Bearer " + token))
                 .andExpect(status().isNoContent());
+        SqlStatistics.assertMaxQueries(3);
 
         assertThat(labelRepository.existsById(testLabel.getId())).isFalse();
     }
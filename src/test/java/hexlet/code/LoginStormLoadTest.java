@@ -0,0 +1,188 @@
+package hexlet.code;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.config.JWTUtils;
+import hexlet.code.dto.AuthRequest;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/*
+ * Measures GET /api/tasks latency alone and then during a login storm that keeps far more BCrypt checks in
+ * flight than the hashing pool accepts. Run with ./gradlew loadTest; it is excluded from the regular build.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(properties = {
+    "password-hashing.threads=1",
+    "password-hashing.queue-capacity=4",
+    "credential-cache.enabled=false",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.springframework.security=INFO"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class LoginStormLoadTest {
+
+    private static final Duration PHASE = Duration.ofSeconds(5);
+
+    private static final int READERS = 2;
+
+    private static final int LOGIN_CLIENTS = 32;
+
+    private static final double PERCENTILE = 0.99;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper om;
+    @Autowired
+    private JWTUtils jwtUtils;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String token;
+
+    private String login;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        User user = new User();
+        user.setEmail("storm@example.com");
+        user.setPasswordDigest(passwordEncoder.encode("stormPassword"));
+        userRepository.save(user);
+        token = jwtUtils.generateToken(user);
+
+        TaskStatus status = new TaskStatus();
+        status.setName("storm");
+        status.setSlug("storm");
+        taskStatusRepository.save(status);
+        for (int i = 0; i < 20; i++) {
+            Task task = new Task();
+            task.setName("Storm task " + i);
+            task.setTaskStatus(status);
+            taskRepository.save(task);
+        }
+
+        var request = new AuthRequest();
+        request.setUsername(user.getEmail());
+        request.setPassword("stormPassword");
+        login = om.writeValueAsString(request);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAll();
+        taskStatusRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testTaskLatencyStaysFlatDuringLoginStorm() throws Exception {
+        readTasks(Duration.ofSeconds(2));
+        long baseline = percentile(readTasks(PHASE));
+
+        var accepted = new AtomicInteger();
+        var rejected = new AtomicInteger();
+        ExecutorService storm = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+        long stormEnd = System.nanoTime() + PHASE.toNanos() + Duration.ofSeconds(1).toNanos();
+        for (int i = 0; i < LOGIN_CLIENTS; i++) {
+            storm.execute(() -> {
+                while (System.nanoTime() < stormEnd) {
+                    int status = loginStatus();
+                    (status == HttpStatus.SERVICE_UNAVAILABLE.value() ? rejected : accepted).incrementAndGet();
+                }
+            });
+        }
+        long duringStorm;
+        try {
+            Thread.sleep(Duration.ofMillis(500));
+            duringStorm = percentile(readTasks(PHASE));
+        } finally {
+            storm.shutdown();
+            storm.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        log.info("GET /api/tasks p99: {} us alone, {} us during the storm; logins accepted {}, rejected {}",
+                baseline / 1000, duringStorm / 1000, accepted.get(), rejected.get());
+        assertThat(accepted.get()).isPositive();
+        assertThat(rejected.get()).isPositive();
+        assertThat(duringStorm).isLessThan(baseline * 3 + Duration.ofMillis(20).toNanos());
+    }
+
+    private int loginStatus() {
+        try {
+            return mockMvc.perform(post("/api/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(login))
+                    .andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Long> readTasks(Duration duration) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        long end = System.nanoTime() + duration.toNanos();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            results.add(readers.submit(() -> {
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                            .andReturn();
+                    latencies.add(System.nanoTime() - start);
+                }
+                return null;
+            }));
+        }
+        for (var result : results) {
+            result.get();
+        }
+        readers.shutdown();
+        return latencies;
+    }
+
+    private static long percentile(List<Long> latencies) {
+        var sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(sorted.size() * PERCENTILE) - 1));
+    }
+}
@@ -0,0 +1,169 @@
+package hexlet.code;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.config.JWTUtils;
+import hexlet.code.config.TokenBucket;
+import hexlet.code.dto.AuthRequest;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.sql.SqlBudgetExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "rate-limit.enabled=true",
+    "rate-limit.rules[0].name=login-ip",
+    "rate-limit.rules[0].method=POST",
+    "rate-limit.rules[0].pattern=/api/login",
+    "rate-limit.rules[0].key=ip",
+    "rate-limit.rules[0].capacity=4",
+    "rate-limit.rules[1].name=login-account",
+    "rate-limit.rules[1].method=POST",
+    "rate-limit.rules[1].pattern=/api/login",
+    "rate-limit.rules[1].key=account",
+    "rate-limit.rules[1].capacity=2",
+    "rate-limit.rules[2].name=task-write-account",
+    "rate-limit.rules[2].method=POST",
+    "rate-limit.rules[2].pattern=/api/tasks/**",
+    "rate-limit.rules[2].key=account",
+    "rate-limit.rules[2].capacity=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ExtendWith(SqlBudgetExtension.class)
+public class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JWTUtils jwtUtils;
+    @Autowired
+    private ObjectMapper om;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    public void setUp() {
+        alice = new User();
+        alice.setEmail("alice@example.com");
+        alice.setPasswordDigest("password");
+        userRepository.save(alice);
+
+        bob = new User();
+        bob.setEmail("bob@example.com");
+        bob.setPasswordDigest("password");
+        userRepository.save(bob);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testLoginIsLimitedPerAccountAndPerIp() throws Exception {
+        double rejectedBefore = rejected("login-account");
+
+        mockMvc.perform(login("10.0.0.1", "alice@example.com")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("10.0.0.2", "Alice@Example.com")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("10.0.0.3", "alice@example.com"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        assertThat(rejected("login-account")).isEqualTo(rejectedBefore + 1);
+
+        // The rejected request above gave its 10.0.0.3 token back, so all four are still there.
+        for (var username : List.of("frank@example.com", "grace@example.com", "heidi@example.com", "ivan@ex.com")) {
+            mockMvc.perform(login("10.0.0.3", username)).andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(login("10.0.0.1", "bob@example.com")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("10.0.0.1", "carol@example.com")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("10.0.0.1", "dave@example.com")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("10.0.0.1", "erin@example.com")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    public void testTaskWritesAreLimitedPerAccount() throws Exception {
+        var aliceToken = jwtUtils.generateToken(alice);
+        var bobToken = jwtUtils.generateToken(bob);
+
+        mockMvc.perform(createTask(aliceToken)).andExpect(status().isBadRequest());
+        mockMvc.perform(createTask(aliceToken)).andExpect(status().isTooManyRequests());
+        mockMvc.perform(createTask(bobToken)).andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + aliceToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testTokenBucketRefillsLazily() {
+        long start = 0;
+        var bucket = new TokenBucket(2, Duration.ofSeconds(2), start);
+
+        assertThat(bucket.tryConsume(start)).isZero();
+        assertThat(bucket.tryConsume(start)).isZero();
+        assertThat(bucket.tryConsume(start)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(bucket.tryConsume(start + TimeUnit.SECONDS.toNanos(1))).isZero();
+        assertThat(bucket.tryConsume(start + TimeUnit.SECONDS.toNanos(1))).isPositive();
+
+        bucket.refund();
+        assertThat(bucket.tryConsume(start + TimeUnit.SECONDS.toNanos(1))).isZero();
+
+        long later = start + TimeUnit.MINUTES.toNanos(1);
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+
+    private MockHttpServletRequestBuilder login(String ip, String username) throws Exception {
+        var request = new AuthRequest();
+        request.setUsername(username);
+        request.setPassword("wrong");
+        return post("/api/login")
+                .with(r -> {
+                    r.setRemoteAddr(ip);
+                    return r;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(request));
+    }
+
+    private MockHttpServletRequestBuilder createTask(String token) {
+        return post("/api/tasks")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}");
+    }
+
+    private double rejected(String rule) {
+        return meterRegistry.get("rate.limit.rejected").tag("rule", rule).counter().count();
+    }
+}
@@ -0,0 +1,196 @@
+package hexlet.code;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.config.JWTUtils;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.sql.SqlBudgetExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "reactive-api.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ExtendWith(SqlBudgetExtension.class)
+public class ReactiveReadApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper om;
+    @Autowired
+    private JWTUtils jwtUtils;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String token;
+    private Task labelled;
+    private Task plain;
+    private Label bug;
+
+    @BeforeEach
+    public void setUp() {
+        User user = new User();
+        user.setEmail("reader@example.com");
+        user.setFirstName("Reader");
+        user.setPasswordDigest("password");
+        userRepository.save(user);
+        token = jwtUtils.generateToken(user);
+
+        TaskStatus status = new TaskStatus();
+        status.setName("draft");
+        status.setSlug("draft");
+        taskStatusRepository.save(status);
+
+        bug = new Label();
+        bug.setName("bug");
+        labelRepository.save(bug);
+
+        labelled = new Task();
+        labelled.setName("Labelled");
+        labelled.setDescription("with a label");
+        labelled.setIndex(1);
+        labelled.setTaskStatus(status);
+        labelled.setAssignee(user);
+        labelled.getLabels().add(bug);
+        taskRepository.save(labelled);
+
+        plain = new Task();
+        plain.setName("Plain");
+        plain.setTaskStatus(status);
+        taskRepository.save(plain);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAll();
+        labelRepository.deleteAll();
+        taskStatusRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testTaskHasTheSameShapeAsV1() throws Exception {
+        var v1 = om.readTree(mockMvc.perform(get("/api/tasks/" + labelled.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        var v2 = om.readTree(async(get("/api/v2/tasks/" + labelled.getId())));
+
+        assertThat(v2).isEqualTo(v1);
+    }
+
+    @Test
+    public void testListTasksWithFilters() throws Exception {
+        var all = om.readTree(async(get("/api/v2/tasks")));
+        assertThat(all).hasSize(2);
+        assertThat(all.get(0).get("id").asLong()).isEqualTo(labelled.getId());
+        assertThat(all.get(0).get("taskLabelIds")).hasSize(1);
+        assertThat(all.get(1).get("taskLabelIds")).isEmpty();
+
+        var byLabel = om.readTree(async(get("/api/v2/tasks").param("labelId", bug.getId().toString())));
+        assertThat(byLabel).hasSize(1);
+        assertThat(byLabel.get(0).get("title").asText()).isEqualTo("Labelled");
+
+        var byTitle = om.readTree(async(get("/api/v2/tasks").param("titleCont", "PLA")));
+        assertThat(byTitle).hasSize(1);
+        assertThat(byTitle.get(0).get("id").asLong()).isEqualTo(plain.getId());
+    }
+
+    @Test
+    public void testPageTasksWithCursor() throws Exception {
+        var first = asyncResult(get("/api/v2/tasks").param("limit", "1"));
+        var page = om.readTree(first.getContentAsString());
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).get("id").asLong()).isEqualTo(labelled.getId());
+        var cursor = first.getHeader("X-Next-Cursor");
+        assertThat(cursor).isNotNull();
+
+        var second = asyncResult(get("/api/v2/tasks").param("limit", "1").param("after", cursor));
+        var next = om.readTree(second.getContentAsString());
+        assertThat(next).hasSize(1);
+        assertThat(next.get(0).get("id").asLong()).isEqualTo(plain.getId());
+        assertThat(second.getHeader("X-Next-Cursor")).isNull();
+
+        var rest = async(get("/api/v2/tasks").param("after", cursor).accept(MediaType.APPLICATION_NDJSON));
+        assertThat(rest.strip().split("\n")).hasSize(1);
+    }
+
+    @Test
+    public void testStreamTasksAsNdjson() throws Exception {
+        var body = async(get("/api/v2/tasks").accept(MediaType.APPLICATION_NDJSON));
+
+        var lines = body.strip().split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = om.readTree(lines[0]);
+        assertThat(first.get("status").asText()).isEqualTo("draft");
+    }
+
+    @Test
+    public void testListReferenceData() throws Exception {
+        assertThat(om.readTree(async(get("/api/v2/labels")))).hasSize(1);
+        assertThat(om.readTree(async(get("/api/v2/task_statuses")))).hasSize(1);
+        var users = om.readTree(async(get("/api/v2/users")));
+        assertThat(users).hasSize(1);
+        assertThat(users.get(0).has("passwordDigest")).isFalse();
+        assertThat(users.get(0).get("firstName").asText()).isEqualTo("Reader");
+    }
+
+    @Test
+    public void testMissingTaskIsNotFound() throws Exception {
+        var result = mockMvc.perform(get("/api/v2/tasks/0").header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testUnauthenticated() throws Exception {
+        mockMvc.perform(get("/api/v2/tasks"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String async(MockHttpServletRequestBuilder builder) throws Exception {
+        return asyncResult(builder).getContentAsString();
+    }
+
+    private MockHttpServletResponse asyncResult(MockHttpServletRequestBuilder builder) throws Exception {
+        var result = mockMvc.perform(builder.header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+}
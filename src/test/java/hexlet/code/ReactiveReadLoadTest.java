@@ -0,0 +1,182 @@
+package hexlet.code;
+
+import hexlet.code.config.JWTUtils;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Compares the JPA list endpoint with the R2DBC one, as a JSON array and as an NDJSON stream, under 1,000
+ * concurrent clients on a real port. Logs throughput and p99 for each. Run it with ./gradlew loadTest.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "reactive-api.enabled=true",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+    "logging.level.org.springframework.security=INFO"
+})
+@ActiveProfiles("test")
+public class ReactiveReadLoadTest {
+
+    private static final int CLIENTS = 1_000;
+
+    private static final int TASKS = 500;
+
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    private static final Duration PHASE = Duration.ofSeconds(10);
+
+    private static final double PERCENTILE = 0.99;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JWTUtils jwtUtils;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        User user = new User();
+        user.setEmail("dashboard@example.com");
+        user.setPasswordDigest("password");
+        userRepository.save(user);
+        token = jwtUtils.generateToken(user);
+
+        TaskStatus status = new TaskStatus();
+        status.setName("dashboard");
+        status.setSlug("dashboard");
+        taskStatusRepository.save(status);
+
+        var tasks = new ArrayList<Task>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setName("Dashboard task " + i);
+            task.setTaskStatus(status);
+            task.setAssignee(user);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAll();
+        taskStatusRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testJpaAndR2dbcListsUnderConcurrency() throws Exception {
+        try (var clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            var client = HttpClient.newBuilder()
+                    .executor(clientThreads)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            var v1 = request("/api/tasks", MediaType.APPLICATION_JSON_VALUE);
+            var v2 = request("/api/v2/tasks?limit=" + TASKS, MediaType.APPLICATION_JSON_VALUE);
+            var v2Stream = request("/api/v2/tasks", MediaType.APPLICATION_NDJSON_VALUE);
+
+            for (var request : List.of(v1, v2, v2Stream)) {
+                drive(client, request, WARMUP);
+            }
+            var jpa = drive(client, v1, PHASE);
+            var r2dbc = drive(client, v2, PHASE);
+            var r2dbcStream = drive(client, v2Stream, PHASE);
+
+            log.info("{} clients, {} tasks per response, {} s each", CLIENTS, TASKS, PHASE.toSeconds());
+            log.info("GET /api/tasks (JPA):             {}", jpa);
+            log.info("GET /api/v2/tasks (R2DBC, JSON):  {}", r2dbc);
+            log.info("GET /api/v2/tasks (R2DBC, NDJSON): {}", r2dbcStream);
+
+            for (var result : List.of(jpa, r2dbc, r2dbcStream)) {
+                assertThat(result.failed()).isZero();
+                assertThat(result.ok()).isPositive();
+            }
+        }
+    }
+
+    private HttpRequest request(String path, String accept) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", accept)
+                .GET()
+                .build();
+    }
+
+    private static Result drive(HttpClient client, HttpRequest request, Duration duration) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        var ok = new LongAdder();
+        var failed = new LongAdder();
+        long end = System.nanoTime() + duration.toNanos();
+        try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        try {
+                            var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            (response.statusCode() == HttpStatus.OK.value() ? ok : failed).increment();
+                        } catch (Exception e) {
+                            failed.increment();
+                        }
+                        latencies.add(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        return new Result(ok.sum(), failed.sum(), percentile(latencies), duration);
+    }
+
+    private static long percentile(List<Long> latencies) {
+        var sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(sorted.size() * PERCENTILE) - 1));
+    }
+
+    private record Result(long ok, long failed, long p99Nanos, Duration duration) {
+
+        @Override
+        public String toString() {
+            return String.format("%d req/s, p99 %d ms, failed %d",
+                    ok / Math.max(1, duration.toSeconds()), p99Nanos / 1_000_000, failed);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package hexlet.code;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.sql.SqlBudgetExtension;
+import hexlet.code.sql.SqlStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"cache.l2.enabled=true", "cache.task-filter.enabled=false"})
+@ActiveProfiles("test")
+@ExtendWith(SqlBudgetExtension.class)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Task task;
+    private Label otherLabel;
+
+    @BeforeEach
+    public void setUp() {
+        User user = new User();
+        user.setEmail("cached@example.com");
+        user.setPasswordDigest("password");
+        userRepository.save(user);
+
+        TaskStatus status = new TaskStatus();
+        status.setName("cached");
+        status.setSlug("cached");
+        taskStatusRepository.save(status);
+
+        Label label = new Label();
+        label.setName("cached label");
+        labelRepository.save(label);
+
+        otherLabel = new Label();
+        otherLabel.setName("other cached label");
+        labelRepository.save(otherLabel);
+
+        task = new Task();
+        task.setName("Cached task");
+        task.setTaskStatus(status);
+        task.setAssignee(user);
+        task.setLabels(Set.of(label));
+        taskRepository.save(task);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        taskStatusRepository.deleteAll();
+        labelRepository.deleteAll();
+    }
+
+    @Test
+    public void testFindByIdIsServedFromCache() {
+        taskRepository.findById(task.getId()).orElseThrow().getLabels().size();
+
+        SqlStatistics.reset();
+        var cached = taskRepository.findById(task.getId()).orElseThrow();
+        assertThat(cached.getTaskStatus().getSlug()).isEqualTo("cached");
+        assertThat(cached.getAssignee().getEmail()).isEqualTo("cached@example.com");
+        assertThat(cached.getLabels()).hasSize(1);
+        SqlStatistics.assertMaxQueries(0);
+
+        var hitRatio = meterRegistry.get("hibernate.l2.hit.ratio").tag("region", Task.CACHE_REGION).gauge();
+        assertThat(hitRatio.value()).isPositive();
+    }
+
+    @Test
+    public void testWritesReplaceCachedState() {
+        var loaded = taskRepository.findById(task.getId()).orElseThrow();
+        loaded.getLabels().size();
+        loaded.setName("Renamed cached task");
+        taskRepository.save(loaded);
+
+        transactionTemplate.executeWithoutResult(status ->
+                taskRepository.addLabels(List.of(task.getId()), List.of(otherLabel.getId())));
+
+        var reloaded = taskRepository.findById(task.getId()).orElseThrow();
+        assertThat(reloaded.getName()).isEqualTo("Renamed cached task");
+        assertThat(reloaded.getLabels()).hasSize(2);
+    }
+}
@@ -0,0 +1,163 @@
+package hexlet.code;
+
+import hexlet.code.component.TaskBitmapIndex;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilterDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskQueryService;
+import hexlet.code.specification.TaskSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"task-index.enabled=true", "cache.task-filter.enabled=false"})
+@ActiveProfiles("test")
+public class TaskBitmapIndexTest {
+
+    private static final int TASK_COUNT = 60;
+
+    @Autowired
+    private TaskQueryService taskQueryService;
+    @Autowired
+    private TaskBitmapIndex taskBitmapIndex;
+    @Autowired
+    private TaskSpecification taskSpecification;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+
+    private final Random random = new Random(42);
+    private final List<TaskStatus> statuses = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+    private final List<Label> labels = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < 3; i++) {
+            TaskStatus status = new TaskStatus();
+            status.setName("index status " + i);
+            status.setSlug("index_status_" + i);
+            statuses.add(taskStatusRepository.save(status));
+
+            User user = new User();
+            user.setEmail("index" + i + "@example.com");
+            user.setPasswordDigest("password");
+            users.add(userRepository.save(user));
+        }
+        for (int i = 0; i < 4; i++) {
+            Label label = new Label();
+            label.setName("index label " + i);
+            labels.add(labelRepository.save(label));
+        }
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task();
+            task.setName("Index task " + i);
+            randomize(task);
+            tasks.add(taskRepository.save(task));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        taskStatusRepository.deleteAll();
+        labelRepository.deleteAll();
+    }
+
+    @Test
+    public void testIndexFollowsWrites() {
+        for (int i = 0; i < TASK_COUNT; i += 3) {
+            Task task = taskRepository.findById(tasks.get(i).getId()).get();
+            randomize(task);
+            taskRepository.save(task);
+        }
+        for (int i = 1; i < TASK_COUNT; i += 7) {
+            taskRepository.deleteById(tasks.get(i).getId());
+        }
+
+        assertMatchesSql();
+    }
+
+    @Test
+    public void testRebuiltIndexMatchesSql() {
+        taskBitmapIndex.rebuild();
+
+        assertMatchesSql();
+    }
+
+    private void assertMatchesSql() {
+        for (TaskFilterDTO filter : filters()) {
+            assertThat(taskBitmapIndex.findIds(filter)).isPresent();
+            assertThat(ids(taskQueryService.findByFilters(filter)))
+                    .as("filter %s", filter)
+                    .isEqualTo(ids(taskRepository.findDTOs(taskSpecification.build(filter), null, null)));
+        }
+    }
+
+    private List<TaskFilterDTO> filters() {
+        List<TaskFilterDTO> filters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            filters.add(filter(Set.of(users.get(i).getId()), null, null, false));
+            filters.add(filter(null, Set.of(statuses.get(i).getSlug()), null, false));
+            filters.add(filter(null, null, Set.of(labels.get(i).getId(), labels.get(i + 1).getId()), false));
+            filters.add(filter(null, null, Set.of(labels.get(i).getId(), labels.get(i + 1).getId()), true));
+            filters.add(filter(Set.of(users.get(i).getId(), users.get((i + 1) % 3).getId()),
+                    Set.of(statuses.get(i).getSlug(), "missing_slug"), Set.of(labels.get(i).getId()), false));
+        }
+
+        TaskFilterDTO withTitle = filter(null, Set.of(statuses.get(0).getSlug()), null, false);
+        withTitle.setTitleCont("task 1");
+        filters.add(withTitle);
+        return filters;
+    }
+
+    private static TaskFilterDTO filter(Set<Long> assigneeIds, Set<String> slugs, Set<Long> labelIds, boolean all) {
+        TaskFilterDTO filter = new TaskFilterDTO();
+        filter.setAssigneeId(assigneeIds);
+        filter.setStatus(slugs);
+        filter.setLabelId(labelIds);
+        filter.setMatchAllLabels(all);
+        return filter;
+    }
+
+    private static List<Long> ids(List<TaskDTO> tasks) {
+        return tasks.stream().map(TaskDTO::getId).toList();
+    }
+
+    private void randomize(Task task) {
+        task.setTaskStatus(statuses.get(random.nextInt(statuses.size())));
+        task.setAssignee(random.nextInt(4) == 0 ? null : users.get(random.nextInt(users.size())));
+        Set<Label> taskLabels = new HashSet<>();
+        for (Label label : labels) {
+            if (random.nextBoolean()) {
+                taskLabels.add(label);
+            }
+        }
+        task.setLabels(taskLabels);
+    }
+}
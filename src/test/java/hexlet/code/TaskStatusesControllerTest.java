@@ -10,9 +10,12 @@ import hexlet.code.model.User;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.sql.SqlBudgetExtension;
+import hexlet.code.sql.SqlStatistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -31,6 +34,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@ExtendWith(SqlBudgetExtension.class)
 public class TaskStatusesControllerTest {
 
     @Autowired
@@ -73,16 +77,20 @@ public class TaskStatusesControllerTest {
 
     @Test
     public void testGetAllStatuses() throws Exception {
+        SqlStatistics.reset();
         mockMvc.perform(get("/api/task_statuses")
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(2);
     }
 
     @Test
     public void testGetStatusById() throws Exception {
+        SqlStatistics.reset();
         mockMvc.perform(get("/api/task_statuses/" + testTaskStatus.getId())
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(2);
     }
 
     @Test
@@ -96,8 +104,10 @@ public class TaskStatusesControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(om.writeValueAsString(dto));
 
+        SqlStatistics.reset();
         mockMvc.perform(request)
                 .andExpect(status().isCreated());
+        SqlStatistics.assertMaxQueries(1);
 
         TaskStatus savedStatus = taskStatusRepository.findBySlug("new_status").get();
         assertThat(savedStatus).isNotNull();
@@ -129,8 +139,10 @@ public class TaskStatusesControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(om.writeValueAsString(dto));
 
+        SqlStatistics.reset();
         mockMvc.perform(request)
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(3);
 
         TaskStatus updatedStatus = taskStatusRepository.findById(testTaskStatus.getId()).get();
         assertThat(updatedStatus.getName()).isEqualTo("Updated Name");
@@ -142,8 +154,10 @@ public class TaskStatusesControllerTest {
         var request = delete("/api/task_statuses/" + testTaskStatus.getId())
                 .header("Authorization", "Bearer " + token);
 
+        SqlStatistics.reset();
         mockMvc.perform(request)
                 .andExpect(status().isNoContent());
+        SqlStatistics.assertMaxQueries(3);
 
         assertThat(taskStatusRepository.findById(testTaskStatus.getId())).isEmpty();
     }
@@ -1,6 +1,7 @@
 package hexlet.code;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.config.JWTUtils;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
@@ -13,12 +14,16 @@ import hexlet.code.model.User;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.TaskTombstoneRepository;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.service.LabelService;
 import hexlet.code.service.TaskService;
+import hexlet.code.sql.SqlBudgetExtension;
+import hexlet.code.sql.SqlStatistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -26,21 +31,35 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@ExtendWith(SqlBudgetExtension.class)
 public class TasksControllerTest {
 
     @Autowired
@@ -63,6 +82,12 @@ public class TasksControllerTest {
     private LabelService labelService;
     @Autowired
     private JWTUtils jwtUtils;
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
 
     private String token;
     private Task testTask;
@@ -98,11 +123,15 @@ public class TasksControllerTest {
         testTask.setAssignee(testUser);
         testTask.setDescription("For Tests");
         taskRepository.save(testTask);
+
+        // Statuses and labels above bypass the services, so the cache would otherwise keep last test's ids.
+        referenceDataCache.refresh();
     }
 
     @AfterEach
     public void cleanUp() {
         taskRepository.deleteAll();
+        taskTombstoneRepository.deleteAll();
         userRepository.deleteAll();
         taskStatusRepository.deleteAll();
         labelRepository.deleteAll();
@@ -117,29 +146,173 @@ public class TasksControllerTest {
         dto.setAssigneeId(testUser.getId());
         dto.setTaskLabelIds(Set.of(testLabel1.getId(), testLabel2.getId()));
 
+        SqlStatistics.reset();
         mockMvc.perform(post("/api/tasks")
                         .header("Authorization", "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(om.writeValueAsString(dto)))
                 .andExpect(status().isCreated());
+        SqlStatistics.assertMaxQueries(5);
 
         var task = taskRepository.findByName(dto.getName()).get();
         assertThat(task.getAssignee().getId()).isEqualTo(testUser.getId());
         assertThat(task.getTaskStatus().getSlug()).isEqualTo(testTaskStatus.getSlug());
     }
 
+    @Test
+    public void testCreateTaskWithStatusDeletedElsewhere() throws Exception {
+        var gone = new TaskStatus();
+        gone.setName("gone");
+        gone.setSlug("gone");
+        taskStatusRepository.save(gone);
+        referenceDataCache.refresh();
+        // Deleted through the repository, so no event drops the cached id, as on another instance.
+        taskStatusRepository.delete(gone);
+
+        TaskCreateDTO dto = new TaskCreateDTO();
+        dto.setName("Orphan Task");
+        dto.setStatus("gone");
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isNotFound());
+
+        assertThat(taskRepository.findByName(dto.getName())).isEmpty();
+    }
+
+    @Test
+    public void testCreateTasksInBatch() throws Exception {
+        List<TaskCreateDTO> tasks = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            TaskCreateDTO dto = new TaskCreateDTO();
+            dto.setName("Imported task " + i);
+            dto.setStatus(testTaskStatus.getSlug());
+            dto.setAssigneeId(i == 1 ? testUser.getId() : null);
+            dto.setTaskLabelIds(Set.of(testLabel1.getId(), testLabel2.getId()));
+            tasks.add(dto);
+        }
+
+        SqlStatistics.reset();
+        mockMvc.perform(post("/api/tasks/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(tasks)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].assignee_id").value(testUser.getId()))
+                .andExpect(jsonPath("$[2].taskLabelIds.length()").value(2));
+        SqlStatistics.assertMaxQueries(5);
+
+        var imported = taskRepository.findByName("Imported task 3").get();
+        assertThat(taskRepository.findLabelIdsByTaskIds(List.of(imported.getId()))).hasSize(2);
+        assertThat(taskRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    public void testCreateTasksInBatchIsAtomic() throws Exception {
+        TaskCreateDTO valid = new TaskCreateDTO();
+        valid.setName("Valid task");
+        valid.setStatus(testTaskStatus.getSlug());
+
+        TaskCreateDTO invalid = new TaskCreateDTO();
+        invalid.setName("Task with missing label");
+        invalid.setStatus(testTaskStatus.getSlug());
+        invalid.setTaskLabelIds(Set.of(testLabel1.getId() + 1000));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isNotFound());
+
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBulkUpdateTasks() throws Exception {
+        TaskStatus published = new TaskStatus();
+        published.setName("published");
+        published.setSlug("published_bulk");
+        taskStatusRepository.save(published);
+
+        Task other = new Task();
+        other.setName("Other task");
+        other.setTaskStatus(testTaskStatus);
+        other.setLabels(Set.of(testLabel2));
+        taskRepository.save(other);
+
+        var byLabel = get("/api/tasks?labelId=" + testLabel1.getId()).header("Authorization", "Bearer " + token);
+        mockMvc.perform(byLabel).andExpect(jsonPath("$.length()").value(0));
+
+        var byFilter = Map.of(
+                "filter", Map.of("status", List.of(testTaskStatus.getSlug())),
+                "status", published.getSlug(),
+                "addLabelIds", List.of(testLabel1.getId()),
+                "removeLabelIds", List.of(testLabel2.getId()));
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(byFilter)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.labelsAdded").value(2))
+                .andExpect(jsonPath("$.labelsRemoved").value(1));
+
+        mockMvc.perform(byLabel).andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/api/tasks?status=" + published.getSlug())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        var byIds = new HashMap<String, Object>();
+        byIds.put("ids", List.of(other.getId()));
+        byIds.put("assignee_id", testUser.getId());
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(byIds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1));
+
+        mockMvc.perform(get("/api/tasks/" + other.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$.assignee_id").value(testUser.getId()))
+                .andExpect(jsonPath("$.status").value(published.getSlug()));
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("ids", List.of(other.getId())))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testGetAllTasks() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task();
+            task.setName("Labeled task " + i);
+            task.setTaskStatus(testTaskStatus);
+            task.setAssignee(testUser);
+            task.setLabels(Set.of(testLabel1, testLabel2));
+            taskRepository.save(task);
+        }
+
+        SqlStatistics.reset();
         mockMvc.perform(get("/api/tasks")
                         .header("Authorization", "Bearer " + token))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4));
+        SqlStatistics.assertMaxQueries(3);
     }
 
     @Test
     public void testGetTaskById() throws Exception {
+        SqlStatistics.reset();
         mockMvc.perform(get("/api/tasks/"
                         + testTask.getId()).header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(2);
     }
 
     @Test
@@ -150,11 +323,13 @@ public class TasksControllerTest {
         dto.setTaskLabelIds(JsonNullable.of(Set.of(testLabel2.getId())));
         dto.setStatus(JsonNullable.of(testTaskStatus.getSlug()));
 
+        SqlStatistics.reset();
         mockMvc.perform(put("/api/tasks/" + testTask.getId())
                         .header("Authorization", "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(om.writeValueAsString(dto)))
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(5);
 
         var updatedTask = taskRepository.findById(testTask.getId()).get();
         assertThat(updatedTask.getName()).isEqualTo("Updated Title");
@@ -174,8 +349,10 @@ public class TasksControllerTest {
         var request = delete("/api/tasks/" + task.getId())
                 .header("Authorization", "Bearer " + token);
 
+        SqlStatistics.reset();
         mockMvc.perform(request)
                 .andExpect(status().isNoContent());
+        SqlStatistics.assertMaxQueries(4);
 
         assertThat(taskRepository.existsById(task.getId())).isFalse();
     }
@@ -304,9 +481,374 @@ public class TasksControllerTest {
                 .andExpect(jsonPath("$[0].title").value("Complex filter task"));
     }
 
+    @Test
+    public void testFilterTasksByMultipleValues() throws Exception {
+        Task both = new Task();
+        both.setName("Task with both labels");
+        both.setTaskStatus(testTaskStatus);
+        both.setLabels(Set.of(testLabel1, testLabel2));
+        taskRepository.save(both);
+
+        Task one = new Task();
+        one.setName("Task with one label");
+        one.setTaskStatus(testTaskStatus);
+        one.setLabels(Set.of(testLabel1));
+        taskRepository.save(one);
+
+        var labelIds = testLabel1.getId() + "," + testLabel2.getId();
+
+        mockMvc.perform(get("/api/tasks?labelId=" + labelIds)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get("/api/tasks?labelMatch=all&labelId=" + labelIds)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Task with both labels"));
+
+        mockMvc.perform(get("/api/tasks?status=" + testTaskStatus.getSlug() + ",unknown_slug&assigneeId="
+                        + testUser.getId() + "," + (testUser.getId() + 1000))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Test Task"));
+    }
+
+    @Test
+    public void testFilteredTasksFollowWrites() throws Exception {
+        var byLabel = get("/api/tasks?labelId=" + testLabel1.getId()).header("Authorization", "Bearer " + token);
+        var byStatus = get("/api/tasks?status=" + testTaskStatus.getSlug()).header("Authorization", "Bearer " + token);
+
+        mockMvc.perform(byLabel).andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(byStatus).andExpect(jsonPath("$.length()").value(1));
+
+        TaskUpdateDTO dto = new TaskUpdateDTO();
+        dto.setTaskLabelIds(JsonNullable.of(Set.of(testLabel1.getId())));
+        mockMvc.perform(put("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        Task task = new Task();
+        task.setName("Task added later");
+        task.setTaskStatus(testTaskStatus);
+        taskRepository.save(task);
+
+        mockMvc.perform(byLabel)
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(testTask.getId()));
+        mockMvc.perform(byStatus).andExpect(jsonPath("$.length()").value(2));
+
+        taskRepository.deleteById(task.getId());
+
+        mockMvc.perform(byStatus).andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    public void testGetTaskNotModified() throws Exception {
+        var eTag = mockMvc.perform(get("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        TaskUpdateDTO dto = new TaskUpdateDTO();
+        dto.setName(JsonNullable.of("Changed Title"));
+        mockMvc.perform(put("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Changed Title"));
+    }
+
+    @Test
+    public void testGetTaskModifiedByStatusRename() throws Exception {
+        var eTag = mockMvc.perform(get("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        var renamed = taskStatusRepository.findById(testTaskStatus.getId()).get();
+        renamed.setSlug("renamed_slug");
+        taskStatusRepository.save(renamed);
+
+        mockMvc.perform(get("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("renamed_slug"));
+    }
+
+    @Test
+    public void testUpdateTaskWithIfMatch() throws Exception {
+        var eTag = mockMvc.perform(get("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+
+        TaskUpdateDTO dto = new TaskUpdateDTO();
+        dto.setName(JsonNullable.of("First writer"));
+        var newETag = mockMvc.perform(put("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newETag).isNotNull().isNotEqualTo(eTag);
+
+        dto.setName(JsonNullable.of("Second writer"));
+        mockMvc.perform(put("/api/tasks/" + testTask.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(taskRepository.findById(testTask.getId()).get().getName()).isEqualTo("First writer");
+    }
+
+    @Test
+    public void testGetTasksNotModified() throws Exception {
+        var url = "/api/tasks?status=" + testTaskStatus.getSlug();
+        var eTag = mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        Task task = new Task();
+        task.setName("Another task");
+        task.setTaskStatus(testTaskStatus);
+        taskRepository.save(task);
+
+        mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    public void testGetTasksWithCursor() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task();
+            task.setName("Paged task " + i);
+            task.setTaskStatus(testTaskStatus);
+            taskRepository.save(task);
+        }
+
+        var firstPage = mockMvc.perform(get("/api/tasks?limit=2&withTotal=true")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(testTask.getId()))
+                .andExpect(header().string("X-Total-Count", "4"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        var cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/tasks?limit=2&after=" + cursor)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].title").value("Paged task 3"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(header().doesNotExist("X-Total-Count"));
+    }
+
+    @Test
+    public void testPageETagCoversOnlyReturnedRows() throws Exception {
+        Task later = new Task();
+        later.setName("Later task");
+        later.setTaskStatus(testTaskStatus);
+        taskRepository.save(later);
+        Task last = new Task();
+        last.setName("Last task");
+        last.setTaskStatus(testTaskStatus);
+        taskRepository.save(last);
+
+        var eTag = mockMvc.perform(get("/api/tasks?limit=1").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        last.setName("Renamed last task");
+        taskRepository.save(last);
+        SqlStatistics.reset();
+        mockMvc.perform(get("/api/tasks?limit=1")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        SqlStatistics.assertMaxQueries(2);
+
+        var first = taskRepository.findById(testTask.getId()).get();
+        first.setName("Renamed first task");
+        taskRepository.save(first);
+        mockMvc.perform(get("/api/tasks?limit=1")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Renamed first task"));
+    }
+
+    @Test
+    public void testGetTasksWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks?limit=2&after=not-a-cursor")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testExportTasks() throws Exception {
+        Task task = new Task();
+        task.setName("Exported task");
+        task.setTaskStatus(testTaskStatus);
+        task.setLabels(Set.of(testLabel1, testLabel2));
+        taskRepository.save(task);
+
+        var result = mockMvc.perform(get("/api/tasks/export?labelId=" + testLabel2.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Exported task"))
+                .andExpect(jsonPath("$[0].taskLabelIds.length()").value(2));
+    }
+
     @Test
     public void testUnauthenticatedAccess() throws Exception {
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    public void testGetTaskChanges() throws Exception {
+        TaskStatus archived = new TaskStatus();
+        archived.setName("archived");
+        archived.setSlug("archived_changes");
+        taskStatusRepository.save(archived);
+
+        Task unchanged = new Task();
+        unchanged.setName("Unchanged task");
+        unchanged.setTaskStatus(archived);
+        taskRepository.save(unchanged);
+        transactionTemplate.executeWithoutResult(tx ->
+                taskRepository.touchByTaskStatusId(archived.getId(), Instant.now().minus(Duration.ofHours(1))));
+
+        var body = mockMvc.perform(get("/api/tasks/changes").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(2))
+                .andExpect(jsonPath("$.deletedIds.length()").value(0))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getContentAsString();
+        var since = om.readTree(body).get("token").asText();
+
+        SqlStatistics.reset();
+        mockMvc.perform(get("/api/tasks/changes?since=" + since).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(1))
+                .andExpect(jsonPath("$.tasks[0].id").value(testTask.getId()));
+        SqlStatistics.assertMaxQueries(4);
+
+        mockMvc.perform(delete("/api/tasks/" + testTask.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tasks/changes?since=" + since).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(0))
+                .andExpect(jsonPath("$.deletedIds.length()").value(1))
+                .andExpect(jsonPath("$.deletedIds[0]").value(testTask.getId()));
+
+        mockMvc.perform(get("/api/tasks/changes?since=not-a-token").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testTaskChangesAdvanceThroughBurstInsideCommitWindow() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task();
+            task.setName("Burst task " + i);
+            task.setTaskStatus(testTaskStatus);
+            taskRepository.save(task);
+        }
+        long total = taskRepository.count();
+
+        var seen = new HashSet<Long>();
+        String since = null;
+        boolean hasMore = true;
+        for (int page = 0; hasMore && page < total; page++) {
+            var url = "/api/tasks/changes?limit=2" + (since == null ? "" : "&since=" + since);
+            var body = om.readTree(mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            body.get("tasks").forEach(task -> seen.add(task.get("id").asLong()));
+            assertThat(body.get("token").asText()).isNotEqualTo(since);
+            since = body.get("token").asText();
+            hasMore = body.get("hasMore").asBoolean();
+        }
+
+        assertThat(hasMore).isFalse();
+        assertThat(seen).hasSize((int) total);
+    }
+
+    @Test
+    public void testStreamTaskChanges() throws Exception {
+        var all = mockMvc.perform(get("/api/tasks/stream").header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var otherStatus = mockMvc.perform(get("/api/tasks/stream?status=unused_slug")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        TaskCreateDTO dto = new TaskCreateDTO();
+        dto.setName("Streamed task");
+        dto.setStatus(testTaskStatus.getSlug());
+        var body = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        var id = om.readTree(body).get("id").asLong();
+
+        assertThat(awaitContent(all, "Streamed task")).contains("event:task");
+
+        mockMvc.perform(delete("/api/tasks/" + id).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        assertThat(awaitContent(all, "event:deleted")).contains("{\"id\":" + id + "}");
+        assertThat(otherStatus.getResponse().getContentAsString()).doesNotContain("Streamed task");
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        var content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
 }
@@ -1,39 +1,57 @@
 package hexlet.code;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.CredentialCache;
 import hexlet.code.config.JWTUtils;
+import hexlet.code.dto.AuthRequest;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.mapper.UserMapper;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
+import hexlet.code.repository.RefreshTokenRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.service.UserService;
+import hexlet.code.sql.SqlBudgetExtension;
+import hexlet.code.sql.SqlStatistics;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@ExtendWith(SqlBudgetExtension.class)
 public class UsersControllerTest {
 
     @Autowired
@@ -54,6 +72,12 @@ public class UsersControllerTest {
     private JWTUtils jwtUtils;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtEncoder jwtEncoder;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private CredentialCache credentialCache;
 
     private String token;
     private String adminToken;
@@ -93,6 +117,7 @@ public class UsersControllerTest {
 
     @AfterEach
     public void cleanUp() {
+        refreshTokenRepository.deleteAll();
         taskRepository.deleteAll();
         taskStatusRepository.deleteAll();
         userRepository.deleteAll();
@@ -106,10 +131,12 @@ public class UsersControllerTest {
         dto.setLastName("User");
         dto.setPassword("newPassword");
 
+        SqlStatistics.reset();
         mockMvc.perform(post("/api/users").header("Authorization", "Bearer " + token)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(om.writeValueAsString(dto)))
                 .andExpect(status().isCreated());
+        SqlStatistics.assertMaxQueries(1);
 
         User createdUser = userRepository.findByEmail("new-test@example.com").get();
         assertThat(createdUser).isNotNull();
@@ -131,16 +158,20 @@ public class UsersControllerTest {
 
     @Test
     public void testGetAllUsers() throws Exception {
+        SqlStatistics.reset();
         mockMvc.perform(get("/api/users")
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(1);
     }
 
     @Test
     public void testGetUserById() throws Exception {
+        SqlStatistics.reset();
         mockMvc.perform(get("/api/users/" + testUser.getId())
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(1);
     }
 
     @Test
@@ -149,11 +180,13 @@ public class UsersControllerTest {
         dto.setFirstName(JsonNullable.of("Updated"));
         dto.setLastName(JsonNullable.of("NewUser"));
 
+        SqlStatistics.reset();
         mockMvc.perform(put("/api/users/" + testUser.getId())
                         .header("Authorization", "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(om.writeValueAsString(dto)))
                 .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(2);
 
         User updatedUser = userRepository.findById(testUser.getId()).get();
         assertThat(updatedUser.getFirstName()).isEqualTo("Updated");
@@ -177,9 +210,11 @@ public class UsersControllerTest {
 
     @Test
     public void testDeleteUser() throws Exception {
+        SqlStatistics.reset();
         mockMvc.perform(delete("/api/users/" + testUser.getId())
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isNoContent());
+        SqlStatistics.assertMaxQueries(3);
 
         assertThat(userRepository.findById(testUser.getId())).isEmpty();
     }
@@ -203,6 +238,21 @@ public class UsersControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    public void testManageMissingUserIsNotFound() throws Exception {
+        UserUpdateDTO dto = new UserUpdateDTO();
+        dto.setFirstName(JsonNullable.of("NewName"));
+
+        mockMvc.perform(put("/api/users/0")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/users/0")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void testUpdateOtherUserAsAdmin() throws Exception {
         UserUpdateDTO dto = new UserUpdateDTO();
@@ -218,6 +268,195 @@ public class UsersControllerTest {
         assertThat(updatedUser.getFirstName()).isEqualTo("UpdatedByAdmin");
     }
 
+    @Test
+    public void testUpdateUserWithTokenWithoutClaims() throws Exception {
+        var now = Instant.now();
+        var claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(60))
+                .subject(user2.getEmail())
+                .build();
+        var legacyToken = jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        UserUpdateDTO dto = new UserUpdateDTO();
+        dto.setFirstName(JsonNullable.of("Legacy"));
+
+        mockMvc.perform(put("/api/users/" + user2.getId())
+                        .header("Authorization", "Bearer " + legacyToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/users/" + testUser.getId())
+                        .header("Authorization", "Bearer " + legacyToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testBasicAuthCredentialsAreCachedUntilPasswordChange() throws Exception {
+        var basic = httpBasic(testUser.getEmail(), "password1234");
+        mockMvc.perform(get("/api/users/" + testUser.getId()).with(basic))
+                .andExpect(status().isOk());
+
+        SqlStatistics.reset();
+        mockMvc.perform(get("/api/users/" + testUser.getId()).with(basic))
+                .andExpect(status().isOk());
+        SqlStatistics.assertMaxQueries(1);
+
+        UserUpdateDTO dto = new UserUpdateDTO();
+        dto.setPassword(JsonNullable.of("changedPassword"));
+        mockMvc.perform(put("/api/users/" + testUser.getId())
+                        .with(basic)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/" + testUser.getId()).with(basic))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/users/" + testUser.getId())
+                        .with(httpBasic(testUser.getEmail(), "changedPassword")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testCredentialCacheDropsLoginsThatRacedAnInvalidation() {
+        long generation = credentialCache.generation();
+        credentialCache.invalidate(testUser.getId());
+        credentialCache.put(testUser.getEmail(), "password1234", testUser, generation);
+        assertThat(credentialCache.get(testUser.getEmail(), "password1234")).isEmpty();
+
+        credentialCache.put(testUser.getEmail(), "password1234", testUser, credentialCache.generation());
+        var first = credentialCache.get(testUser.getEmail(), "password1234").orElseThrow();
+        var second = credentialCache.get(testUser.getEmail(), "password1234").orElseThrow();
+        assertThat(first).isNotSameAs(testUser).isNotSameAs(second);
+        assertThat(((User) first).getId()).isEqualTo(testUser.getId());
+        assertThat(first.getPassword()).isNull();
+        credentialCache.invalidate(testUser.getId());
+    }
+
+    @Test
+    public void testLoginUpgradesPasswordHashStrength() throws Exception {
+        user2.setPasswordDigest(new BCryptPasswordEncoder(4).encode("password"));
+        userRepository.save(user2);
+        var request = new AuthRequest();
+        request.setUsername(user2.getEmail());
+        request.setPassword("password");
+
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        var digest = userRepository.findById(user2.getId()).get().getPasswordDigest();
+        assertThat(digest).startsWith("$2a$10$");
+        assertThat(passwordEncoder.matches("password", digest)).isTrue();
+    }
+
+    @Test
+    public void testRefreshTokenRotatesAndDetectsReuse() throws Exception {
+        var request = new AuthRequest();
+        request.setUsername(user2.getEmail());
+        request.setPassword("password");
+
+        var login = mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(cookie().httpOnly("refresh_token", true))
+                .andReturn();
+        var first = login.getResponse().getCookie("refresh_token").getValue();
+
+        SqlStatistics.reset();
+        var refreshed = mockMvc.perform(post("/api/token/refresh")
+                        .cookie(new Cookie("refresh_token", first)))
+                .andExpect(status().isOk())
+                .andReturn();
+        SqlStatistics.assertMaxQueries(3);
+        var second = refreshed.getResponse().getCookie("refresh_token").getValue();
+        assertThat(second).isNotEqualTo(first);
+
+        mockMvc.perform(get("/api/users/" + user2.getId())
+                        .header("Authorization", "Bearer " + refreshed.getResponse().getContentAsString()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/token/refresh")
+                        .cookie(new Cookie("refresh_token", first)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/token/refresh")
+                        .cookie(new Cookie("refresh_token", second)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testRefreshTokensAreRevokedOnPasswordChange() throws Exception {
+        var request = new AuthRequest();
+        request.setUsername(testUser.getEmail());
+        request.setPassword("password1234");
+        var login = mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        var refreshToken = login.getResponse().getCookie("refresh_token").getValue();
+
+        UserUpdateDTO dto = new UserUpdateDTO();
+        dto.setPassword(JsonNullable.of("newPassword1234"));
+        mockMvc.perform(put("/api/users/" + testUser.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/token/refresh")
+                        .cookie(new Cookie("refresh_token", refreshToken)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(cookie().maxAge("refresh_token", 0));
+    }
+
+    @Test
+    public void testFailedPasswordChangeKeepsRefreshTokens() throws Exception {
+        var other = new User();
+        other.setEmail("taken@example.com");
+        other.setPasswordDigest("password");
+        userRepository.save(other);
+
+        var request = new AuthRequest();
+        request.setUsername(testUser.getEmail());
+        request.setPassword("password1234");
+        var login = mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        var refreshToken = login.getResponse().getCookie("refresh_token").getValue();
+
+        UserUpdateDTO dto = new UserUpdateDTO();
+        dto.setEmail(JsonNullable.of(other.getEmail()));
+        dto.setPassword(JsonNullable.of("newPassword1234"));
+        mockMvc.perform(put("/api/users/" + testUser.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+
+        var unchanged = userRepository.findById(testUser.getId()).get();
+        assertThat(passwordEncoder.matches("password1234", unchanged.getPasswordDigest())).isTrue();
+        mockMvc.perform(post("/api/token/refresh")
+                        .cookie(new Cookie("refresh_token", refreshToken)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testRevokeClearsRefreshToken() throws Exception {
+        mockMvc.perform(post("/api/token/refresh"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/token/revoke"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().exists(HttpHeaders.SET_COOKIE));
+    }
+
     @Test
     public void testDeleteOtherUserAsAdmin() throws Exception {
         mockMvc.perform(delete("/api/users/" + user2.getId())
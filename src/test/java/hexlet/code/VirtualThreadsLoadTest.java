@@ -0,0 +1,166 @@
+package hexlet.code;
+
+import hexlet.code.config.JWTUtils;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Runs the application on a real port twice, once on Tomcat's platform thread pool and once with
+ * spring.threads.virtual.enabled, and drives GET /api/tasks from 2,000 concurrent clients against each.
+ * Logs throughput, p99 latency and status counts side by side. Run it with ./gradlew loadTest, which also
+ * traces pinned virtual threads. Responses other than 200 and a pool-timeout 503 fail the test.
+ */
+@Slf4j
+@Tag("load")
+public class VirtualThreadsLoadTest {
+
+    private static final int CLIENTS = 2_000;
+
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    private static final Duration PHASE = Duration.ofSeconds(10);
+
+    private static final double PERCENTILE = 0.99;
+
+    @Test
+    public void testPlatformAndVirtualThreadsAt2000Clients() throws Exception {
+        var platform = run(false);
+        var virtual = run(true);
+
+        log.info("{} clients, GET /api/tasks for {} s", CLIENTS, PHASE.toSeconds());
+        log.info("platform threads: {}", platform);
+        log.info("virtual threads:  {}", virtual);
+
+        for (var result : List.of(platform, virtual)) {
+            assertThat(result.statuses().keySet())
+                    .isSubsetOf(HttpStatus.OK.value(), HttpStatus.SERVICE_UNAVAILABLE.value());
+            assertThat(result.ok()).isPositive();
+        }
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (var context = start(virtualThreads)) {
+            var token = seed(context);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+
+            try (var clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                var client = HttpClient.newBuilder()
+                        .executor(clientThreads)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .build();
+                drive(client, request, WARMUP);
+                return drive(client, request, PHASE);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(AppApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=INFO",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+                        "logging.level.org.springframework.security=INFO")
+                .run();
+    }
+
+    private static String seed(ConfigurableApplicationContext context) {
+        var user = new User();
+        user.setEmail("load@example.com");
+        user.setPasswordDigest("password");
+        context.getBean(UserRepository.class).save(user);
+
+        var status = new TaskStatus();
+        status.setName("load");
+        status.setSlug("load");
+        context.getBean(TaskStatusRepository.class).save(status);
+
+        var taskRepository = context.getBean(TaskRepository.class);
+        for (int i = 0; i < 20; i++) {
+            var task = new Task();
+            task.setName("Load task " + i);
+            task.setTaskStatus(status);
+            taskRepository.save(task);
+        }
+        return context.getBean(JWTUtils.class).generateToken(user);
+    }
+
+    private static Result drive(HttpClient client, HttpRequest request, Duration duration) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        long end = System.nanoTime() + duration.toNanos();
+        try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        latencies.add(System.nanoTime() - start);
+                        statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+                    }
+                });
+            }
+        }
+
+        var counts = new ConcurrentHashMap<Integer, Long>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return new Result(counts, percentile(latencies), duration);
+    }
+
+    private static long percentile(List<Long> latencies) {
+        var sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(sorted.size() * PERCENTILE) - 1));
+    }
+
+    private record Result(Map<Integer, Long> statuses, long p99Nanos, Duration duration) {
+
+        long ok() {
+            return statuses.getOrDefault(HttpStatus.OK.value(), 0L);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d req/s ok, p99 %d ms, statuses %s",
+                    ok() / Math.max(1, duration.toSeconds()), p99Nanos / 1_000_000, statuses);
+        }
+    }
+}
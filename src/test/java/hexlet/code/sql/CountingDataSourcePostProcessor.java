@@ -0,0 +1,104 @@
+package hexlet.code.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+/*
+ * Wraps every DataSource in the test context so statements, fetched rows and JDBC time end up in SqlStatistics.
+ * A batch counts as one statement, matching one round trip to the database.
+ */
+@Component
+public class CountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final Set<String> CONNECTION_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                var result = invoke(target, method, args);
+                return result instanceof Connection connection
+                        ? proxy(Connection.class, connection, connectionHandler())
+                        : result;
+            });
+        }
+        return bean;
+    }
+
+    private static Handler connectionHandler() {
+        return (target, method, args) -> {
+            var result = invoke(target, method, args);
+            if (!CONNECTION_FACTORIES.contains(method.getName())) {
+                return result;
+            }
+            var sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                    : result instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return proxy(type, result, statementHandler(sql));
+        };
+    }
+
+    private static Handler statementHandler(String preparedSql) {
+        return (target, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return wrapResultSet(invoke(target, method, args));
+            }
+            var sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return wrapResultSet(invoke(target, method, args));
+            } finally {
+                SqlStatistics.recordStatement(sql, System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static Object wrapResultSet(Object result) {
+        if (!(result instanceof ResultSet resultSet) || Proxy.isProxyClass(result.getClass())) {
+            return result;
+        }
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            var value = invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(value)) {
+                SqlStatistics.recordRow();
+            }
+            return value;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static Object proxy(Class<?> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "unwrap", "isWrapperFor" -> invoke(target, method, args);
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.handle(target, method, args);
+        };
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,24 @@
+package hexlet.code.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/*
+ * Starts every test with clean SqlStatistics and logs what the test executed.
+ * The setUp() data and the request under test are told apart by a SqlStatistics.reset() inside the test.
+ */
+@Slf4j
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatistics.reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        log.info("{}: {}", context.getDisplayName(), SqlStatistics.summary());
+    }
+}
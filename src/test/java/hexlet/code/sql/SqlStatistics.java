@@ -0,0 +1,79 @@
+package hexlet.code.sql;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Statements, rows and time spent in JDBC since the last reset, as seen through the counting DataSource.
+ * Call reset() right before the request under test and one of the assertMax* methods after it.
+ */
+public final class SqlStatistics {
+
+    private static final int MAX_RECORDED_STATEMENTS = 100;
+
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+    private static final AtomicLong ROWS = new AtomicLong();
+    private static final AtomicLong NANOS = new AtomicLong();
+    private static final Queue<String> SQL = new ConcurrentLinkedQueue<>();
+
+    private SqlStatistics() {
+    }
+
+    public static void reset() {
+        STATEMENTS.set(0);
+        ROWS.set(0);
+        NANOS.set(0);
+        SQL.clear();
+    }
+
+    public static long statements() {
+        return STATEMENTS.get();
+    }
+
+    public static long rows() {
+        return ROWS.get();
+    }
+
+    public static Duration elapsed() {
+        return Duration.ofNanos(NANOS.get());
+    }
+
+    public static List<String> sql() {
+        return List.copyOf(SQL);
+    }
+
+    public static void assertMaxQueries(int max) {
+        assertThat(statements())
+                .as("SQL statements executed, budget is %d:%n%s", max, String.join(System.lineSeparator(), sql()))
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static void assertMaxRows(long max) {
+        assertThat(rows()).as("rows fetched, budget is %d", max).isLessThanOrEqualTo(max);
+    }
+
+    public static void assertMaxTime(Duration max) {
+        assertThat(elapsed()).as("time spent in JDBC, budget is %s", max).isLessThanOrEqualTo(max);
+    }
+
+    public static String summary() {
+        return "%d statements, %d rows, %d ms in JDBC".formatted(statements(), rows(), elapsed().toMillis());
+    }
+
+    static void recordStatement(String sql, long nanos) {
+        STATEMENTS.incrementAndGet();
+        NANOS.addAndGet(nanos);
+        if (sql != null && SQL.size() < MAX_RECORDED_STATEMENTS) {
+            SQL.add(sql);
+        }
+    }
+
+    static void recordRow() {
+        ROWS.incrementAndGet();
+    }
+}